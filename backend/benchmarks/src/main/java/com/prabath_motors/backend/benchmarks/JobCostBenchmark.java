@@ -0,0 +1,37 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.service.appointmentService.JobServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total cost of a job, recomputed on every create and update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobCostBenchmark {
+
+    // Number of tasks, and separately of spare parts, on the job
+    @Param({"5", "50", "500"})
+    public int lineItems;
+
+    private JobServiceImpl jobService;
+    private Job job;
+
+    @Setup
+    public void setUp() {
+        jobService = new JobServiceImpl();
+        job = SyntheticData.job(lineItems);
+    }
+
+    @Benchmark
+    public double calculateTotalCost() {
+        return jobService.calculateTotalCost(job);
+    }
+}
@@ -0,0 +1,58 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.prabath_motors.backend.config.security.jwt.JwtUtils;
+import com.prabath_motors.backend.service.auth.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done by the JWT filter on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new Random(42).nextBytes(secret);
+
+        jwtUtils = new JwtUtils();
+        Stubs.inject(jwtUtils, "jwtSecret", Base64.getEncoder().encodeToString(secret));
+        Stubs.inject(jwtUtils, "jwtExpirationMs", 86_400_000);
+
+        List<SimpleGrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        UserDetailsImpl user = new UserDetailsImpl(1L, "admin", "admin@prabathmotors.lk", "secret", roles);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, roles);
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String userNameFromToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+}
@@ -0,0 +1,69 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.prabath_motors.backend.dao.Appointment.Appointment;
+import com.prabath_motors.backend.dao.Appointment.Task;
+import com.prabath_motors.backend.dto.AppointmentDTO;
+import com.prabath_motors.backend.dto.TaskDTO;
+import com.prabath_motors.backend.service.appointmentService.AppointmentMapper;
+import com.prabath_motors.backend.service.appointmentService.TaskMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion of a list endpoint's worth of appointments and tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100", "10000"})
+    public int listSize;
+
+    private List<AppointmentDTO> appointmentDtos;
+    private List<Appointment> appointments;
+    private List<TaskDTO> taskDtos;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        appointmentDtos = SyntheticData.appointmentDtos(listSize);
+        appointments = SyntheticData.appointments(listSize);
+        taskDtos = SyntheticData.taskDtos(listSize);
+        tasks = SyntheticData.tasks(listSize);
+    }
+
+    @Benchmark
+    public void appointmentToEntity(Blackhole blackhole) {
+        for (AppointmentDTO dto : appointmentDtos) {
+            blackhole.consume(AppointmentMapper.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public void appointmentToDto(Blackhole blackhole) {
+        for (Appointment appointment : appointments) {
+            blackhole.consume(AppointmentMapper.toDTO(appointment));
+        }
+    }
+
+    @Benchmark
+    public void taskToEntity(Blackhole blackhole) {
+        for (TaskDTO dto : taskDtos) {
+            blackhole.consume(TaskMapper.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public void taskToDto(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(TaskMapper.toDTO(task));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportResponse;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportRow;
+import com.prabath_motors.backend.dto.StocksDto.SalesSummaryResponse;
+import com.prabath_motors.backend.dto.StocksDto.SalesTrendResponse;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseReportResponse;
+import com.prabath_motors.backend.repository.DailySalesRollupRepository;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.Item_CtgryRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import com.prabath_motors.backend.service.stockService.ReportService.StockReportServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Java-side cost of assembling the stock reports once the database has returned its rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockReportBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int catalogSize;
+
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private StockReportServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        List<InventoryReportRow> inventoryRows = SyntheticData.inventoryRows(catalogSize);
+
+        DailySalesRollupRepository rollups = Stubs.of(DailySalesRollupRepository.class, Map.of(
+                "summarizeSalesByItem", SyntheticData.salesRows(catalogSize),
+                "findDailyTotals", SyntheticData.dailyTotals(START, (int) (END.toEpochDay() - START.toEpochDay()) + 1)));
+        Stock_InRepository stockIns = Stubs.of(Stock_InRepository.class, Map.of(
+                "summarizePurchasesBySupplier", SyntheticData.supplierRows(Math.max(1, catalogSize / 50))));
+        ItemRepository items = Stubs.of(ItemRepository.class, Map.of(
+                "findInventoryRows", new PageImpl<>(inventoryRows),
+                "streamInventoryRows", (Supplier<?>) inventoryRows::stream,
+                "findInventoryTotalsByStockLevel", SyntheticData.levelTotals(inventoryRows)));
+        Item_CtgryRepository categories = Stubs.of(Item_CtgryRepository.class, Map.of());
+
+        service = new StockReportServiceImpl(rollups, stockIns, items, categories, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Benchmark
+    public SalesSummaryResponse salesSummary() {
+        return service.generateSalesSummaryReport(START, END);
+    }
+
+    @Benchmark
+    public SalesTrendResponse salesTrendDaily() {
+        return service.generateSalesTrendReport(START, END, "daily");
+    }
+
+    @Benchmark
+    public SalesTrendResponse salesTrendWeekly() {
+        return service.generateSalesTrendReport(START, END, "weekly");
+    }
+
+    @Benchmark
+    public SupplierPurchaseReportResponse supplierPurchase() {
+        return service.generateSupplierPurchaseReport(START, END);
+    }
+
+    @Benchmark
+    public InventoryReportResponse inventory() {
+        return service.generateInventoryReport(false, "stockLevel", null, null);
+    }
+
+    // Includes JSON serialisation of every row, which dominates the streamed variant
+    @Benchmark
+    public void inventoryStreamed() throws IOException {
+        service.writeInventoryReport(false, "stockLevel", OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,46 @@
+package com.prabath_motors.backend.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Stand-ins for repositories and services, so the benchmarks measure the Java code and not a database.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Implements the interface by returning the canned result registered for each method name. A
+     * {@link Supplier} is called on every invocation, for results such as streams that cannot be reused.
+     */
+    static <T> T of(Class<T> type, Map<String, Object> results) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString": return type.getSimpleName() + "Stub";
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+            }
+            if (!results.containsKey(method.getName())) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            Object result = results.get(method.getName());
+            return result instanceof Supplier<?> supplier ? supplier.get() : result;
+        });
+        return type.cast(stub);
+    }
+
+    // Sets a field the application fills through @Autowired or @Value
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.prabath_motors.backend.dao.Appointment.Appointment;
+import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.NamedCostItem;
+import com.prabath_motors.backend.dao.Appointment.Task;
+import com.prabath_motors.backend.dao.MonthlyUtilityBill;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.dao.UtilityBill;
+import com.prabath_motors.backend.dto.AppointmentDTO;
+import com.prabath_motors.backend.dto.StocksDto.DailySalesTotal;
+import com.prabath_motors.backend.dto.StocksDto.InventoryLevelTotals;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportRow;
+import com.prabath_motors.backend.dto.StocksDto.SalesItemAggregate;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseRow;
+import com.prabath_motors.backend.dto.TaskDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic generators for benchmark inputs. Every call with the same arguments returns the same data,
+ * so results from before and after a change are comparable.
+ */
+final class SyntheticData {
+
+    static final StockLevel[] STOCK_LEVELS = StockLevel.values();
+    static final String[] UTILITY_TYPES = {"Electricity", "Water", "Internet"};
+
+    private static final long SEED = 20250101L;
+
+    private SyntheticData() {
+    }
+
+    static List<SalesItemAggregate> salesRows(int itemCount) {
+        Random random = new Random(SEED);
+        List<SalesItemAggregate> rows = new ArrayList<>(itemCount);
+        for (int i = 1; i <= itemCount; i++) {
+            double sellPrice = 100 + random.nextInt(20_000);
+            // Roughly one item in ten has never been purchased through Stock_In
+            Double avgPurchasePrice = random.nextInt(10) == 0 ? null : sellPrice * (0.5 + random.nextDouble() * 0.4);
+            rows.add(new SalesItemAggregate(i, "Item " + i, (long) (1 + random.nextInt(500)), sellPrice, avgPurchasePrice));
+        }
+        return rows;
+    }
+
+    static List<DailySalesTotal> dailyTotals(LocalDate startDate, int days) {
+        Random random = new Random(SEED);
+        List<DailySalesTotal> totals = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            // Closed on some days, so the trend report has gaps to fill
+            if (random.nextInt(7) == 0) {
+                continue;
+            }
+            long qty = 1 + random.nextInt(300);
+            totals.add(new DailySalesTotal(startDate.plusDays(day), qty, qty * (500 + random.nextDouble() * 2_000)));
+        }
+        return totals;
+    }
+
+    static List<SupplierPurchaseRow> supplierRows(int supplierCount) {
+        Random random = new Random(SEED);
+        List<SupplierPurchaseRow> rows = new ArrayList<>(supplierCount);
+        for (int i = 1; i <= supplierCount; i++) {
+            long purchases = 1 + random.nextInt(400);
+            long quantity = purchases * (1 + random.nextInt(50));
+            rows.add(new SupplierPurchaseRow(i, "Supplier " + i, purchases, quantity,
+                    quantity * (100 + random.nextDouble() * 5_000), (long) (1 + random.nextInt(200))));
+        }
+        return rows;
+    }
+
+    static List<InventoryReportRow> inventoryRows(int itemCount) {
+        Random random = new Random(SEED);
+        List<InventoryReportRow> rows = new ArrayList<>(itemCount);
+        LocalDate updated = LocalDate.of(2025, 1, 1);
+        for (int i = 1; i <= itemCount; i++) {
+            double sellPrice = 100 + random.nextInt(20_000);
+            rows.add(new InventoryReportRow(i, "Item " + i, 100_000 + i, "Category " + random.nextInt(40),
+                    "Supplier " + random.nextInt(200), random.nextInt(400), 5 + random.nextInt(20),
+                    STOCK_LEVELS[random.nextInt(STOCK_LEVELS.length)], sellPrice,
+                    random.nextInt(10) == 0 ? null : sellPrice * 0.7, random.nextInt(50),
+                    updated.plusDays(random.nextInt(365))));
+        }
+        return rows;
+    }
+
+    // The per-level totals the database would return for the given rows
+    static List<InventoryLevelTotals> levelTotals(List<InventoryReportRow> rows) {
+        Map<StockLevel, InventoryLevelTotals> totals = new LinkedHashMap<>();
+        for (InventoryReportRow row : rows) {
+            InventoryLevelTotals level = totals.computeIfAbsent(row.getStockLevel(),
+                    key -> new InventoryLevelTotals(key, 0L, 0.0, 0.0));
+            level.setItemCount(level.getItemCount() + 1);
+            level.setInventoryValue(level.getInventoryValue() + row.getInventoryValue());
+            level.setPurchaseValue(level.getPurchaseValue() + row.getAvgPurchasePrice() * row.getQtyAvailable());
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    static List<UtilityBill> utilityBills(int accountCount) {
+        Random random = new Random(SEED);
+        List<UtilityBill> bills = new ArrayList<>(accountCount);
+        for (int i = 1; i <= accountCount; i++) {
+            UtilityBill bill = new UtilityBill();
+            bill.setId(i);
+            bill.setBilling_Acc_No(1_000 + i);
+            bill.setType(UTILITY_TYPES[i % UTILITY_TYPES.length]);
+            bill.setAddress("No. " + i + ", Main Street");
+            bill.setMeter_No("M-" + i);
+            bill.setUnit_Price(10 + random.nextInt(50));
+            bills.add(bill);
+        }
+        return bills;
+    }
+
+    // One bill per account per month, starting January 2022
+    static List<MonthlyUtilityBill> monthlyBills(int accountCount, int months) {
+        Random random = new Random(SEED);
+        List<MonthlyUtilityBill> bills = new ArrayList<>(accountCount * months);
+        int id = 1;
+        for (int month = 0; month < months; month++) {
+            Month billingMonth = Month.of(month % 12 + 1);
+            int billingYear = 2022 + month / 12;
+            for (int account = 1; account <= accountCount; account++) {
+                int units = 50 + random.nextInt(2_000);
+                MonthlyUtilityBill bill = new MonthlyUtilityBill();
+                bill.setId(id);
+                bill.setInvoiceNo(id++);
+                bill.setBillingAccNo(1_000 + account);
+                bill.setBillingMonth(billingMonth.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+                bill.setBillingYear(billingYear);
+                bill.setUnits(units);
+                bill.setTotalPayment(units * (10 + random.nextInt(50)));
+                bill.setGeneratedDate(LocalDate.of(billingYear, billingMonth, 28));
+                bills.add(bill);
+            }
+        }
+        return bills;
+    }
+
+    static List<AppointmentDTO> appointmentDtos(int count) {
+        Random random = new Random(SEED);
+        List<AppointmentDTO> dtos = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            AppointmentDTO dto = new AppointmentDTO();
+            dto.setId((long) i);
+            dto.setVehicleRegistrationNo("CAB-" + (1_000 + random.nextInt(9_000)));
+            dto.setDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)));
+            dto.setTime(LocalTime.of(8 + random.nextInt(9), random.nextBoolean() ? 0 : 30));
+            dto.setMileage(10_000 + random.nextInt(200_000) * 1.0);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    static List<Appointment> appointments(int count) {
+        Random random = new Random(SEED);
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(i);
+            appointment.setVehicleRegistrationNo("CAB-" + (1_000 + random.nextInt(9_000)));
+            appointment.setDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)));
+            appointment.setTime(LocalTime.of(8 + random.nextInt(9), random.nextBoolean() ? 0 : 30));
+            appointment.setMileage(10_000 + random.nextInt(200_000) * 1.0);
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    static List<TaskDTO> taskDtos(int count) {
+        Random random = new Random(SEED);
+        List<TaskDTO> dtos = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            TaskDTO dto = new TaskDTO();
+            dto.setId((long) i);
+            dto.setDescription("Task " + i);
+            dto.setCost(500 + random.nextInt(20_000) * 1.0);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    static List<Task> tasks(int count) {
+        Random random = new Random(SEED);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setDescription("Task " + i);
+            task.setCost(500 + random.nextInt(20_000));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static Job job(int lineItems) {
+        Random random = new Random(SEED);
+        List<NamedCostItem> tasks = new ArrayList<>(lineItems);
+        List<NamedCostItem> spareParts = new ArrayList<>(lineItems);
+        for (int i = 1; i <= lineItems; i++) {
+            tasks.add(new NamedCostItem(i, (long) i, "Task " + i, 500 + random.nextInt(20_000), 1));
+            spareParts.add(new NamedCostItem(i, (long) i, "Part " + i, 100 + random.nextInt(10_000), 1 + random.nextInt(4)));
+        }
+        Job job = new Job();
+        job.setJobId("JOB-1");
+        job.setTasks(tasks);
+        job.setSpareParts(spareParts);
+        return job;
+    }
+}
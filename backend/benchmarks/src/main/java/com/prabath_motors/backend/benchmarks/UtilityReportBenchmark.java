@@ -0,0 +1,62 @@
+package com.prabath_motors.backend.benchmarks;
+
+import com.prabath_motors.backend.dto.UtilityDto.ReportRequestDTO;
+import com.prabath_motors.backend.service.utilityService.MonthlyUtilityBillService;
+import com.prabath_motors.backend.service.utilityService.UtilityBillService;
+import com.prabath_motors.backend.service.utilityService.UtilityReportServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping and filtering of the utility reports (formerly in UtilityReportController) over three years of bills.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilityReportBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int accountCount;
+
+    private static final int MONTHS = 36;
+
+    private UtilityReportServiceImpl service;
+    private ReportRequestDTO allTypes;
+    private ReportRequestDTO electricityOnly;
+
+    @Setup
+    public void setUp() {
+        UtilityBillService utilityBills = Stubs.of(UtilityBillService.class, Map.of(
+                "getAllUtilityBills", SyntheticData.utilityBills(accountCount)));
+        MonthlyUtilityBillService monthlyBills = Stubs.of(MonthlyUtilityBillService.class, Map.of(
+                "getAllMonthlyUtilityBills", SyntheticData.monthlyBills(accountCount, MONTHS)));
+
+        service = new UtilityReportServiceImpl();
+        Stubs.inject(service, "utilityBillService", utilityBills);
+        Stubs.inject(service, "monthlyUtilityBillService", monthlyBills);
+
+        // The middle year of the generated range
+        allTypes = new ReportRequestDTO("2023-01-01T00:00:00", "2023-12-31T00:00:00", "all", false, "bar");
+        electricityOnly = new ReportRequestDTO("2023-01-01T00:00:00", "2023-12-31T00:00:00", "Electricity", false, "bar");
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyAnalysisAllTypes() {
+        return service.generateMonthlyAnalysisReport(allTypes);
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyAnalysisSingleType() {
+        return service.generateMonthlyAnalysisReport(electricityOnly);
+    }
+
+    @Benchmark
+    public Map<String, Object> costComparison() {
+        return service.generateUtilityCostComparisonReport(allTypes);
+    }
+}
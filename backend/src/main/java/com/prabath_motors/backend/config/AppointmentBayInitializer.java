@@ -0,0 +1,29 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.service.appointmentService.WorkshopSlotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives upcoming appointments booked before bays were tracked a bay, so the slot engine counts them.
+ * Appointments that do not fit any more are logged and left without a bay.
+ */
+@Component
+@Order(7)
+public class AppointmentBayInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentBayInitializer.class);
+
+    @Autowired
+    private WorkshopSlotService workshopSlotService;
+
+    @Override
+    public void migrate() {
+        int assigned = workshopSlotService.assignMissingBays();
+        if (assigned > 0) {
+            logger.info("Assigned workshop bays to {} upcoming appointments", assigned);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.prabath_motors.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    // Streamed reports keep writing long after the handler returns, so they need more than the container default
+    @Value("${prabath.report.streamTimeoutMs:600000}")
+    private long streamTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamTimeoutMs);
+    }
+}
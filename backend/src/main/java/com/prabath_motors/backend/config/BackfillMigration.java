@@ -0,0 +1,26 @@
+package com.prabath_motors.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+
+/**
+ * Rebuilds a table derived from the stock history. Runs when the table is empty but its source rows exist,
+ * or on demand by starting the application with {@code --<option>}.
+ */
+abstract class BackfillMigration implements StartupMigration {
+    @Autowired
+    private ApplicationArguments args;
+
+    protected abstract String option();
+
+    protected abstract boolean isMissing();
+
+    protected abstract void rebuild();
+
+    @Override
+    public void migrate() {
+        if (args.containsOption(option()) || isMissing()) {
+            rebuild();
+        }
+    }
+}
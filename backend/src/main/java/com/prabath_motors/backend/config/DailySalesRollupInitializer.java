@@ -0,0 +1,44 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.repository.DailySalesRollupRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import com.prabath_motors.backend.service.stockService.DailySalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Backfills the daily sales rollups from Stock_Out
+@Component
+@Order(9)
+public class DailySalesRollupInitializer extends BackfillMigration {
+    private static final Logger logger = LoggerFactory.getLogger(DailySalesRollupInitializer.class);
+
+    public static final String REBUILD_OPTION = "rebuild-sales-rollups";
+
+    @Autowired
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private Stock_OutRepository stockOutRepository;
+
+    @Override
+    protected String option() {
+        return REBUILD_OPTION;
+    }
+
+    @Override
+    protected boolean isMissing() {
+        return dailySalesRollupRepository.count() == 0 && stockOutRepository.count() > 0;
+    }
+
+    @Override
+    protected void rebuild() {
+        int rows = dailySalesRollupService.rebuildAll();
+        logger.info("Rebuilt {} daily sales rollup rows", rows);
+    }
+}
@@ -0,0 +1,59 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.repository.RestockRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the Stock_In, Stock_Out and Restock id sequences past the existing rows. All three tables used to take
+ * their ids from AUTO_INCREMENT, so a freshly created sequence table would otherwise hand out ids that are
+ * already taken.
+ */
+@Component
+@Order(1)
+public class IdSequenceInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Stock_InRepository stockInRepository;
+
+    @Autowired
+    private Stock_OutRepository stockOutRepository;
+
+    @Autowired
+    private RestockRepository restockRepository;
+
+    @Override
+    public void migrate() {
+        alignSequence(Stock_In.ID_SEQUENCE, stockInRepository.findMaxStockInID(), Stock_In.ID_ALLOCATION_SIZE);
+        alignSequence(Stock_Out.ID_SEQUENCE, stockOutRepository.findMaxStockOutID(), Stock_Out.ID_ALLOCATION_SIZE);
+        alignSequence(Restock.ID_SEQUENCE, restockRepository.findMaxRestockID(), Restock.ID_ALLOCATION_SIZE);
+    }
+
+    private void alignSequence(String sequence, int maxId, int allocationSize) {
+        // The pooled optimizer hands out the block that ends at the stored value, so leave a full block of room
+        long required = maxId + allocationSize + 1L;
+
+        Long current = jdbcTemplate.query("SELECT next_val FROM " + sequence,
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (current == null) {
+            jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) VALUES (?)", required);
+            logger.info("Initialised {} at {}", sequence, required);
+        } else if (current < required) {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", required, required);
+            logger.info("Moved {} from {} to {}", sequence, current, required);
+        }
+    }
+}
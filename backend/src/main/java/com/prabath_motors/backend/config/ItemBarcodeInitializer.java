@@ -0,0 +1,52 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings an existing item table in line with the unique barcode index. Barcodes used to be a NOT NULL int
+ * with 0 for "no barcode", so the column is made nullable, the zeros become nulls and, if the same barcode
+ * was entered twice, only the oldest item keeps it.
+ */
+@Component
+@Order(2)
+public class ItemBarcodeInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ItemBarcodeInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void migrate() {
+        String nullable = jdbcTemplate.query("SELECT IS_NULLABLE FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item' AND COLUMN_NAME = 'item_barcode'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if ("NO".equals(nullable)) {
+            jdbcTemplate.execute("ALTER TABLE item MODIFY item_barcode INT NULL");
+            logger.info("Made item.item_barcode nullable");
+        }
+
+        int cleared = jdbcTemplate.update("UPDATE item SET item_barcode = NULL WHERE item_barcode = 0");
+        if (cleared > 0) {
+            logger.info("Cleared the placeholder barcode 0 from {} items", cleared);
+        }
+
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item' AND INDEX_NAME = ?", Integer.class, Item.BARCODE_INDEX);
+        if (indexes != null && indexes == 0) {
+            int duplicates = jdbcTemplate.update("UPDATE item i JOIN (SELECT item_barcode, MIN(itemid) AS keep_id " +
+                    "FROM item WHERE item_barcode IS NOT NULL GROUP BY item_barcode HAVING COUNT(*) > 1) d " +
+                    "ON d.item_barcode = i.item_barcode AND i.itemid <> d.keep_id SET i.item_barcode = NULL");
+            if (duplicates > 0) {
+                logger.warn("Removed duplicate barcodes from {} items; only the oldest item keeps each barcode", duplicates);
+            }
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + Item.BARCODE_INDEX + " ON item (item_barcode)");
+            logger.info("Created unique index {}", Item.BARCODE_INDEX);
+        }
+    }
+}
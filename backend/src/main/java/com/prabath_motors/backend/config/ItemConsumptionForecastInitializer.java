@@ -0,0 +1,44 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.repository.ItemConsumptionForecastRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import com.prabath_motors.backend.service.stockService.ItemConsumptionForecastService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Backfills the per-item consumption forecasts from Stock_Out
+@Component
+@Order(10)
+public class ItemConsumptionForecastInitializer extends BackfillMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ItemConsumptionForecastInitializer.class);
+
+    public static final String REBUILD_OPTION = "rebuild-consumption-forecasts";
+
+    @Autowired
+    private ItemConsumptionForecastService forecastService;
+
+    @Autowired
+    private ItemConsumptionForecastRepository forecastRepository;
+
+    @Autowired
+    private Stock_OutRepository stockOutRepository;
+
+    @Override
+    protected String option() {
+        return REBUILD_OPTION;
+    }
+
+    @Override
+    protected boolean isMissing() {
+        return forecastRepository.count() == 0 && stockOutRepository.count() > 0;
+    }
+
+    @Override
+    protected void rebuild() {
+        int items = forecastService.rebuildAll();
+        logger.info("Rebuilt consumption forecasts for {} items", items);
+    }
+}
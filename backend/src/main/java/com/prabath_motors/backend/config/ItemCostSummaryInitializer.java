@@ -0,0 +1,44 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.repository.ItemCostSummaryRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import com.prabath_motors.backend.service.stockService.ItemCostSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Backfills the per-item purchase cost summaries from Stock_In
+@Component
+@Order(8)
+public class ItemCostSummaryInitializer extends BackfillMigration {
+    private static final Logger logger = LoggerFactory.getLogger(ItemCostSummaryInitializer.class);
+
+    public static final String REBUILD_OPTION = "rebuild-cost-summary";
+
+    @Autowired
+    private ItemCostSummaryService itemCostSummaryService;
+
+    @Autowired
+    private ItemCostSummaryRepository itemCostSummaryRepository;
+
+    @Autowired
+    private Stock_InRepository stockInRepository;
+
+    @Override
+    protected String option() {
+        return REBUILD_OPTION;
+    }
+
+    @Override
+    protected boolean isMissing() {
+        return itemCostSummaryRepository.count() == 0 && stockInRepository.count() > 0;
+    }
+
+    @Override
+    protected void rebuild() {
+        int rows = itemCostSummaryService.rebuildAll();
+        logger.info("Rebuilt purchase cost summaries for {} items", rows);
+    }
+}
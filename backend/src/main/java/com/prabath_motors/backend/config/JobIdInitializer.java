@@ -0,0 +1,38 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.dao.Appointment.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the unique jobId index on an existing jobs table. Job ids used to be unchecked, so if the same
+ * one was used twice the later jobs get their primary key appended and only the oldest keeps the original.
+ */
+@Component
+@Order(4)
+public class JobIdInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(JobIdInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void migrate() {
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'jobs' AND INDEX_NAME = ?", Integer.class, Job.JOB_ID_INDEX);
+        if (indexes != null && indexes == 0) {
+            int duplicates = jdbcTemplate.update("UPDATE jobs j JOIN (SELECT job_id, MIN(id) AS keep_id " +
+                    "FROM jobs GROUP BY job_id HAVING COUNT(*) > 1) d " +
+                    "ON d.job_id = j.job_id AND j.id <> d.keep_id SET j.job_id = CONCAT(j.job_id, '-', j.id)");
+            if (duplicates > 0) {
+                logger.warn("Renamed {} jobs with a duplicate job ID; only the oldest job keeps each ID", duplicates);
+            }
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + Job.JOB_ID_INDEX + " ON jobs (job_id)");
+            logger.info("Created unique index {}", Job.JOB_ID_INDEX);
+        }
+    }
+}
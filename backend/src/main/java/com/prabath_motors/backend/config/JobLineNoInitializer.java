@@ -0,0 +1,56 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.dao.Appointment.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Numbers the task and spare part lines stored before lines had a lineNo, then creates the unique
+ * (job_id, line_no) indexes. The rows have no key of their own, so each job's lines are numbered one
+ * row at a time after the highest number the job already uses.
+ */
+@Component
+@Order(5)
+public class JobLineNoInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(JobLineNoInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void migrate() {
+        numberLines("job_tasks", Job.TASK_LINE_INDEX);
+        numberLines("job_spare_parts", Job.SPARE_PART_LINE_INDEX);
+    }
+
+    private void numberLines(String table, String index) {
+        List<Long> jobIds = jdbcTemplate.queryForList("SELECT DISTINCT job_id FROM " + table + " WHERE line_no IS NULL", Long.class);
+        int numbered = 0;
+        for (Long jobId : jobIds) {
+            Integer last = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(line_no), 0) FROM " + table + " WHERE job_id = ?",
+                    Integer.class, jobId);
+            int next = last == null ? 1 : last + 1;
+            while (jdbcTemplate.update("UPDATE " + table + " SET line_no = ? WHERE job_id = ? AND line_no IS NULL LIMIT 1",
+                    next, jobId) > 0) {
+                next++;
+                numbered++;
+            }
+        }
+        if (numbered > 0) {
+            logger.info("Numbered {} lines of {} jobs in {}", numbered, jobIds.size(), table);
+        }
+
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?", Integer.class, table, index);
+        if (indexes != null && indexes == 0) {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + index + " ON " + table + " (job_id, line_no)");
+            logger.info("Created unique index {}", index);
+        }
+    }
+}
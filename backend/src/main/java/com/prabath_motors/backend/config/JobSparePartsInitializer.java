@@ -0,0 +1,32 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.dao.Appointment.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the spare parts of jobs closed before parts were consumed on completion as already consumed, so a
+ * later consume-parts call cannot take them out of stock a second time. Jobs are only closed once their parts
+ * are consumed, so this only ever matches those older rows.
+ */
+@Component
+@Order(6)
+public class JobSparePartsInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(JobSparePartsInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void migrate() {
+        int marked = jdbcTemplate.update("UPDATE jobs SET spare_parts_consumed = 1 " +
+                "WHERE status <> ? AND spare_parts_consumed = 0", JobStatus.ONGOING.getLabel());
+        if (marked > 0) {
+            logger.info("Marked the spare parts of {} closed jobs as consumed", marked);
+        }
+    }
+}
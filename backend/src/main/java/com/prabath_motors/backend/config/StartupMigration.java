@@ -0,0 +1,11 @@
+package com.prabath_motors.backend.config;
+
+/**
+ * A schema or data fix for existing databases that schema update cannot make on its own. Every migration is
+ * applied by {@link StartupMigrationRunner} in {@code @Order}, before the web server accepts requests, on
+ * every start, so it must check what is already done and leave an up-to-date database unchanged.
+ */
+public interface StartupMigration {
+
+    void migrate();
+}
@@ -0,0 +1,49 @@
+package com.prabath_motors.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies the {@link StartupMigration}s once the context is refreshed but before the embedded web server
+ * starts, which it does in a much later lifecycle phase. If a migration fails the application does not start.
+ */
+@Component
+public class StartupMigrationRunner implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(StartupMigrationRunner.class);
+
+    // Sorted by @Order on injection
+    @Autowired
+    private List<StartupMigration> migrations;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        for (StartupMigration migration : migrations) {
+            long started = System.currentTimeMillis();
+            migration.migrate();
+            logger.debug("{} done in {} ms", migration.getClass().getSimpleName(), System.currentTimeMillis() - started);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,43 @@
+package com.prabath_motors.backend.config;
+
+import com.prabath_motors.backend.service.stockService.ItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the item stock level column from the old text labels to the StockLevel ordinal and then
+ * brings every item's level up to date, which also repairs levels written by other tools.
+ */
+@Component
+@Order(3)
+public class StockLevelInitializer implements StartupMigration {
+    private static final Logger logger = LoggerFactory.getLogger(StockLevelInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Override
+    public void migrate() {
+        String dataType = jdbcTemplate.query("SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'item' AND COLUMN_NAME = 'stock_level'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (dataType != null && dataType.contains("char")) {
+            // The labels cannot be cast to numbers; the recalculation below fills the column again
+            jdbcTemplate.update("UPDATE item SET stock_level = NULL");
+            jdbcTemplate.execute("ALTER TABLE item MODIFY stock_level TINYINT NULL");
+            logger.info("Converted item.stock_level from {} to an ordinal column", dataType);
+        }
+
+        int updated = itemService.recalculateStockLevels();
+        if (updated > 0) {
+            logger.info("Recalculated the stock level of {} items", updated);
+        }
+    }
+}
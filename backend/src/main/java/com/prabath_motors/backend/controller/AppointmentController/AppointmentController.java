@@ -2,10 +2,13 @@ package com.prabath_motors.backend.controller.AppointmentController;
 
 import com.prabath_motors.backend.dao.Appointment.Appointment;
 import com.prabath_motors.backend.dto.AppointmentDTO;
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
+import com.prabath_motors.backend.exception.IllegalOperationException;
 import com.prabath_motors.backend.service.appointmentService.AppointmentMapper;
 import com.prabath_motors.backend.service.appointmentService.AppointmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -61,6 +64,14 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentDTOs);
     }
 
+    // Bookable start times per day with the number of free bays, e.g. /free-slots?startDate=2025-03-01&endDate=2025-03-07
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<WorkshopDaySlots>> getFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(appointmentService.getFreeSlots(startDate, endDate));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getAppointmentById(@PathVariable Long id) {
         Optional<Appointment> appointmentOpt = appointmentService.getAppointmentById(id);
@@ -96,6 +107,9 @@ public class AppointmentController {
 
             // Convert back to DTO for response
             return ResponseEntity.ok(AppointmentMapper.toDTO(updatedAppointment));
+        } catch (IllegalOperationException e) {
+            // A booking conflict, reported by the global handler
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Appointment not found with id: " + id);
         }
@@ -1,7 +1,16 @@
 package com.prabath_motors.backend.controller.AppointmentController;
 
 import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.NamedCostItem;
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.JobBulkCloseResult;
+import com.prabath_motors.backend.dto.JobLineItemPatch;
+import com.prabath_motors.backend.dto.JobPageDTO;
+import com.prabath_motors.backend.dto.JobSummary;
+import com.prabath_motors.backend.service.appointmentService.JobLookupService;
 import com.prabath_motors.backend.service.appointmentService.JobService;
+import com.prabath_motors.backend.service.appointmentService.JobService.LineItems;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +24,9 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private JobLookupService jobLookupService;
+
     @PostMapping("/assign")
     public Job createJob(@RequestBody Job job) {
         return jobService.createJob(job);
@@ -30,16 +42,79 @@ public class JobController {
         return jobService.getAllDoneJobs();
     }
 
+    // Look up by the job ID printed on the job card, e.g. /by-job-id/JOB-1718000000000
+    @GetMapping("/by-job-id/{jobId}")
+    public JobSummary getJobByJobId(@PathVariable String jobId) {
+        return jobLookupService.findByJobId(jobId);
+    }
+
+    // Paged job board for one status, e.g. /status/Done?page=0&size=20
+    @GetMapping("/status/{status}")
+    public JobPageDTO getJobsByStatus(@PathVariable String status,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return jobService.getJobsByStatus(status, page, size);
+    }
+
     @PutMapping("/update/{id}")
     public Job updateJob(@PathVariable Long id, @RequestBody Job job) {
         return jobService.updateJob(id, job);
     }
 
+    // Single line item edits by the line's lineNo; only the affected job_tasks / job_spare_parts rows are written
+    @PostMapping("/{id}/tasks")
+    public Job addTask(@PathVariable Long id, @RequestBody NamedCostItem task) {
+        return jobService.addLineItem(id, LineItems.TASKS, task);
+    }
+
+    @PatchMapping("/{id}/tasks/{lineNo}")
+    public Job updateTask(@PathVariable Long id, @PathVariable int lineNo, @Valid @RequestBody JobLineItemPatch patch) {
+        return jobService.updateLineItem(id, LineItems.TASKS, lineNo, patch);
+    }
+
+    @DeleteMapping("/{id}/tasks/{lineNo}")
+    public Job removeTask(@PathVariable Long id, @PathVariable int lineNo) {
+        return jobService.removeLineItem(id, LineItems.TASKS, lineNo);
+    }
+
+    @PostMapping("/{id}/spare-parts")
+    public Job addSparePart(@PathVariable Long id, @RequestBody NamedCostItem part) {
+        return jobService.addLineItem(id, LineItems.SPARE_PARTS, part);
+    }
+
+    @PatchMapping("/{id}/spare-parts/{lineNo}")
+    public Job updateSparePart(@PathVariable Long id, @PathVariable int lineNo, @Valid @RequestBody JobLineItemPatch patch) {
+        return jobService.updateLineItem(id, LineItems.SPARE_PARTS, lineNo, patch);
+    }
+
+    @DeleteMapping("/{id}/spare-parts/{lineNo}")
+    public Job removeSparePart(@PathVariable Long id, @PathVariable int lineNo) {
+        return jobService.removeLineItem(id, LineItems.SPARE_PARTS, lineNo);
+    }
+
     @PutMapping("/done/{id}")
     public void markAsDone(@PathVariable Long id) {
         jobService.markJobAsDone(id);
     }
 
+    // End of day closing: each listed job is closed on its own, so one that cannot be closed does not hold up the rest
+    @PutMapping("/done")
+    public JobBulkCloseResult markAsDone(@RequestBody List<Long> ids) {
+        return jobService.markJobsAsDone(ids);
+    }
+
+    // Moves a job along Ongoing -> Done -> Invoiced; false when it already had that status
+    @PutMapping("/{id}/status/{status}")
+    public boolean changeStatus(@PathVariable Long id, @PathVariable String status) {
+        return jobService.changeStatus(id, status);
+    }
+
+    // Safe to retry: returns the created Stock_Out rows the first time and an empty list afterwards
+    @PostMapping("/{id}/consume-parts")
+    public List<Stock_Out> consumeSpareParts(@PathVariable Long id) {
+        return jobService.consumeSpareParts(id);
+    }
+
     @DeleteMapping("/{id}")
     public Object deleteJob(@PathVariable Long id) {
         jobService.deleteJob(id);
@@ -1,7 +1,14 @@
 package com.prabath_motors.backend.controller.StockController;
 
 import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.dto.StocksDto.ItemSummary;
+import com.prabath_motors.backend.dto.StocksDto.ReorderSuggestion;
+import com.prabath_motors.backend.exception.IllegalOperationException;
 import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.service.stockService.ItemConsumptionForecastService;
+import com.prabath_motors.backend.service.stockService.ItemLookupService;
 import com.prabath_motors.backend.service.stockService.ItemService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -15,9 +22,14 @@ import java.util.List;
 @RequestMapping("/item")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemLookupService itemLookupService;
+    private final ItemConsumptionForecastService forecastService;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ItemLookupService itemLookupService,
+                          ItemConsumptionForecastService forecastService) {
         this.itemService = itemService;
+        this.itemLookupService = itemLookupService;
+        this.forecastService = forecastService;
     }
 
     @GetMapping("/get")
@@ -30,6 +42,11 @@ public class ItemController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Item>> getItemPage(@ModelAttribute StockPageFilter filter) {
+        return ResponseEntity.ok(itemService.getItemPage(filter));
+    }
+
     @GetMapping("/get/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Integer id) {
         try {
@@ -45,11 +62,26 @@ public class ItemController {
         }
     }
 
+    // Scanner lookups are answered from memory
+    @GetMapping("/barcode/{barcode}")
+    public ResponseEntity<ItemSummary> getItemByBarcode(@PathVariable Integer barcode) {
+        return ResponseEntity.ok(itemLookupService.findByBarcode(barcode));
+    }
+
+    // Autocomplete over item names, brands and barcodes, best stocked items first
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemSummary>> searchItems(@RequestParam("q") String query,
+                                                         @RequestParam(defaultValue = "" + ItemLookupService.DEFAULT_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(itemLookupService.search(query, limit));
+    }
+
     @PostMapping("/save")
     public ResponseEntity<Item> saveItem(@Valid @RequestBody Item item) {
         try {
             Item savedItem = itemService.SaveItem(item);
             return ResponseEntity.ok(savedItem);
+        } catch (IllegalOperationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -60,11 +92,38 @@ public class ItemController {
         try {
             Item updatedItem = itemService.UpdateItem(id, item);
             return ResponseEntity.ok(updatedItem);
+        } catch (IllegalOperationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    // Stock counts and corrections; qtyAvailable is ignored by /update so a stale form cannot overwrite stock movements
+    @PostMapping("/{id}/adjust-stock")
+    public ResponseEntity<Item> adjustStock(@PathVariable Integer id, @RequestParam int delta) {
+        itemService.adjustStock(id, delta);
+        return ResponseEntity.ok(itemService.getItemByID(id));
+    }
+
+    // Reorder levels and order quantities from recent usage and supplier lead times, most urgent first
+    @GetMapping("/reorder-suggestions")
+    public ResponseEntity<List<ReorderSuggestion>> getReorderSuggestions(
+            @RequestParam(defaultValue = "false") boolean belowReorderLevelOnly) {
+        return ResponseEntity.ok(forecastService.getReorderSuggestions(belowReorderLevelOnly));
+    }
+
+    @GetMapping("/reorder-suggestions/{id}")
+    public ResponseEntity<ReorderSuggestion> getReorderSuggestion(@PathVariable Integer id) {
+        return ResponseEntity.ok(forecastService.getReorderSuggestion(id));
+    }
+
+    @PostMapping("/stock-levels/recalculate")
+    public ResponseEntity<String> recalculateStockLevels() {
+        int updated = itemService.recalculateStockLevels();
+        return ResponseEntity.ok("Stock level updated for " + updated + " items");
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<String> deleteItem(@PathVariable Integer id) {
         try {
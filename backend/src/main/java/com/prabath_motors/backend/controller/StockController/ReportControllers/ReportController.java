@@ -1,11 +1,16 @@
 package com.prabath_motors.backend.controller.StockController.ReportControllers;
 
 import com.prabath_motors.backend.dto.StocksDto.DateRangeRequest;
+import com.prabath_motors.backend.dto.StocksDto.ReportCacheStats;
 import com.prabath_motors.backend.dto.StocksDto.SalesSummaryResponse;
+import com.prabath_motors.backend.dto.StocksDto.SalesTrendResponse;
+import com.prabath_motors.backend.service.stockService.ReportService.CachingStockReportService;
 import com.prabath_motors.backend.service.stockService.ReportService.StockReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -16,10 +21,12 @@ import java.util.Map;
 public class ReportController {
 
     private final StockReportService stockReportService;
+    private final CachingStockReportService cachingStockReportService;
 
     @Autowired
-    public ReportController(StockReportService stockReportService) {
+    public ReportController(StockReportService stockReportService, CachingStockReportService cachingStockReportService) {
         this.stockReportService = stockReportService;
+        this.cachingStockReportService = cachingStockReportService;
     }
 
     @PostMapping("/sales summery")
@@ -29,6 +36,12 @@ public class ReportController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/sales_trend")
+    public ResponseEntity<SalesTrendResponse> getSalesTrendReport(@RequestBody DateRangeRequest request) {
+        return ResponseEntity.ok(stockReportService.generateSalesTrendReport(
+                request.getStartDate(), request.getEndDate(), request.getGranularity()));
+    }
+
     @PostMapping("/supplier_purchase")
     public ResponseEntity<?> getSupplierPurchaseReport(@RequestBody DateRangeRequest request) {
         return ResponseEntity.ok(stockReportService.generateSupplierPurchaseReport(
@@ -39,9 +52,19 @@ public class ReportController {
     public ResponseEntity<?> getInventoryReport(@RequestBody Map<String, Object> request) {
         boolean showLowStockOnly = request.containsKey("showLowStockOnly") ? (boolean) request.get("showLowStockOnly") : false;
         String sortBy = request.containsKey("sortBy") ? (String) request.get("sortBy") : "stockLevel";
+        boolean stream = request.containsKey("stream") && (boolean) request.get("stream");
+        Integer page = request.containsKey("page") ? (Integer) request.get("page") : null;
+        Integer size = request.containsKey("size") ? (Integer) request.get("size") : null;
         // We don't need to pass showChart to the backend since it's just for UI rendering
-        
-        return ResponseEntity.ok(stockReportService.generateInventoryReport(showLowStockOnly, sortBy));
+
+        if (stream) {
+            // Rows are written to the response as they are read, followed by a trailing summary object
+            StreamingResponseBody body = outputStream ->
+                    stockReportService.writeInventoryReport(showLowStockOnly, sortBy, outputStream);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        return ResponseEntity.ok(stockReportService.generateInventoryReport(showLowStockOnly, sortBy, page, size));
     }
 
     @PostMapping("/item_purchase_history")
@@ -49,8 +72,15 @@ public class ReportController {
         Integer itemId = (Integer) request.get("itemId");
         LocalDate startDate = LocalDate.parse((String) request.get("startDate"));
         LocalDate endDate = LocalDate.parse((String) request.get("endDate"));
-        
+        String cursor = (String) request.get("cursor");
+        Integer limit = (Integer) request.get("limit");
+
         return ResponseEntity.ok(stockReportService.generateItemPurchaseHistoryReport(
-                itemId, startDate, endDate));
+                itemId, startDate, endDate, cursor, limit));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ReportCacheStats> getReportCacheStats() {
+        return ResponseEntity.ok(cachingStockReportService.getCacheStats());
     }
-}
\ No newline at end of file
+}
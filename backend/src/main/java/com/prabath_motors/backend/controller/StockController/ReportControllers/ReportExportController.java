@@ -0,0 +1,86 @@
+package com.prabath_motors.backend.controller.StockController.ReportControllers;
+
+import com.prabath_motors.backend.service.stockService.ReportService.StockReportExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/reports/export")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReportExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final StockReportExportService stockReportExportService;
+
+    @Autowired
+    public ReportExportController(StockReportExportService stockReportExportService) {
+        this.stockReportExportService = stockReportExportService;
+    }
+
+    @GetMapping("/sales_summary")
+    public ResponseEntity<StreamingResponseBody> exportSalesSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return csvDownload("sales_summary_" + startDate + "_" + endDate, gzip,
+                out -> stockReportExportService.writeSalesSummaryCsv(startDate, endDate, out));
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<StreamingResponseBody> exportInventory(
+            @RequestParam(defaultValue = "false") boolean showLowStockOnly,
+            @RequestParam(defaultValue = "stockLevel") String sortBy,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return csvDownload("inventory_" + LocalDate.now(), gzip,
+                out -> stockReportExportService.writeInventoryCsv(showLowStockOnly, sortBy, out));
+    }
+
+    @GetMapping("/supplier_purchase")
+    public ResponseEntity<StreamingResponseBody> exportSupplierPurchase(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return csvDownload("supplier_purchase_" + startDate + "_" + endDate, gzip,
+                out -> stockReportExportService.writeSupplierPurchaseCsv(startDate, endDate, out));
+    }
+
+    @GetMapping("/item_purchase_history")
+    public ResponseEntity<StreamingResponseBody> exportItemPurchaseHistory(
+            @RequestParam Integer itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        stockReportExportService.requireItem(itemId);
+        return csvDownload("item_" + itemId + "_purchase_history_" + startDate + "_" + endDate, gzip,
+                out -> stockReportExportService.writeItemPurchaseHistoryCsv(itemId, startDate, endDate, out));
+    }
+
+    // Rows are written to the response while the query is still running; with gzip the download is a .csv.gz file
+    private ResponseEntity<StreamingResponseBody> csvDownload(String baseName, boolean gzip, StreamingResponseBody export) {
+        String fileName = baseName + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = gzip ? gzipped(export) : export;
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private static StreamingResponseBody gzipped(StreamingResponseBody export) {
+        return out -> {
+            GZIPOutputStream gzipStream = new GZIPOutputStream(out, 64 * 1024, true);
+            export.writeTo(gzipStream);
+            // finish() writes the trailer without closing the servlet stream
+            gzipStream.finish();
+        };
+    }
+}
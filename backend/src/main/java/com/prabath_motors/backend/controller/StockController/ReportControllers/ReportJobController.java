@@ -0,0 +1,50 @@
+package com.prabath_motors.backend.controller.StockController.ReportControllers;
+
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobRequest;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobResponse;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobStatus;
+import com.prabath_motors.backend.service.reportJobService.ReportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/reports/jobs")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Autowired
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> submitReportJob(@RequestBody ReportJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submitJob(request));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    // Returns the report once ready; with waitMs the request is parked (off the servlet thread) until then
+    @GetMapping("/{jobId}/result")
+    public CompletableFuture<ResponseEntity<?>> getReportJobResult(@PathVariable String jobId,
+                                                                   @RequestParam(defaultValue = "0") long waitMs) {
+        return reportJobService.awaitJob(jobId, waitMs).thenApply(job -> {
+            if (job.getStatus() == ReportJobStatus.COMPLETED) {
+                return ResponseEntity.ok(reportJobService.getJobResult(jobId));
+            }
+            if (job.getStatus() == ReportJobStatus.FAILED) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(job);
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        });
+    }
+}
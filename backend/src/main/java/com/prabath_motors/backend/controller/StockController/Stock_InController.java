@@ -1,9 +1,15 @@
 package com.prabath_motors.backend.controller.StockController;
 
 import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.dto.StocksDto.StockInImportResult;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
 import com.prabath_motors.backend.service.stockService.Stock_InService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,6 +35,11 @@ public class Stock_InController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Stock_In>> getStockInPage(@ModelAttribute StockPageFilter filter) {
+        return ResponseEntity.ok(stockInService.getStockInPage(filter));
+    }
+
     @GetMapping("/get/{id}")
     public ResponseEntity<Stock_In> getStockById(@PathVariable Integer id) {
         try {
@@ -47,16 +58,35 @@ public class Stock_InController {
         try {
             Stock_In savedStock = stockInService.SaveStockIn(stock);
             return ResponseEntity.ok(savedStock);
+        } catch (IllegalOperationException | ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    // A whole delivery in one request; nothing is saved unless every line is valid
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StockInImportResult> importStockIn(@RequestBody List<Stock_In> stocks) {
+        return importResponse(stockInService.ImportStockIn(stocks));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<StockInImportResult> importStockInCsv(@RequestBody String csv) {
+        return importResponse(stockInService.ImportStockInCsv(csv));
+    }
+
+    private ResponseEntity<StockInImportResult> importResponse(StockInImportResult result) {
+        return result.getErrors().isEmpty() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<Stock_In> updateStockInDetails(@PathVariable Integer id, @RequestBody Stock_In stock) {
         try {
             Stock_In updatedStock = stockInService.UpdateStockInDetails(id, stock);
             return ResponseEntity.ok(updatedStock);
+        } catch (IllegalOperationException | ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -1,6 +1,10 @@
 package com.prabath_motors.backend.controller.StockController;
 
 import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
 import com.prabath_motors.backend.service.stockService.Stock_OutService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +30,11 @@ public class Stock_OutController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Stock_Out>> getStockOutPage(@ModelAttribute StockPageFilter filter) {
+        return ResponseEntity.ok(stockOutService.getStockOutPage(filter));
+    }
+
     @GetMapping("/get/{id}")
     public ResponseEntity<Stock_Out> getStockById(@PathVariable Integer id) {
         try{
@@ -44,6 +53,8 @@ public class Stock_OutController {
         try {
             Stock_Out stockOut = stockOutService.SaveStockOut(stock);
             return ResponseEntity.ok(stockOut);
+        } catch (IllegalOperationException | ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -54,6 +65,8 @@ public class Stock_OutController {
         try{
             Stock_Out stockOut = stockOutService.UpdateStockOutDetails(id, stock);
             return ResponseEntity.ok(stockOut);
+        } catch (IllegalOperationException | ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
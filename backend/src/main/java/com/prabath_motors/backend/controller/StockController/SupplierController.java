@@ -1,6 +1,8 @@
 package com.prabath_motors.backend.controller.StockController;
 
 import com.prabath_motors.backend.dao.Stock.Supplier;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 import com.prabath_motors.backend.service.stockService.SupplierService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +31,11 @@ public class SupplierController {
 
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Supplier>> getSupplierPage(@ModelAttribute StockPageFilter filter) {
+        return ResponseEntity.ok(supplierService.getSupplierPage(filter));
+    }
+
     @GetMapping("/get/{id}")
     public ResponseEntity<Supplier> getSupplierById(@PathVariable Integer id){
         try{
@@ -1,6 +1,9 @@
 package com.prabath_motors.backend.controller.StockController;
 
 import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.service.stockService.LowStockAlertService;
 import com.prabath_motors.backend.service.stockService.RestockService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -12,10 +15,24 @@ import java.util.List;
 @RequestMapping("/restock")
 public class restockController {
     private final RestockService restockService;
+    private final LowStockAlertService lowStockAlertService;
 
     @Autowired
-    public restockController(RestockService restockService) {
+    public restockController(RestockService restockService, LowStockAlertService lowStockAlertService) {
         this.restockService = restockService;
+        this.lowStockAlertService = lowStockAlertService;
+    }
+
+    // Items that fell below their reorder level since the last automatic restock run
+    @GetMapping("/alerts/pending")
+    public ResponseEntity<Integer> getPendingAlertCount() {
+        return ResponseEntity.ok(lowStockAlertService.getPendingAlertCount());
+    }
+
+    // Raises the pending restocks now instead of waiting for the next scheduled run
+    @PostMapping("/alerts/flush")
+    public ResponseEntity<List<Restock>> flushAlerts() {
+        return ResponseEntity.ok(lowStockAlertService.createPendingRestocks());
     }
 
     @GetMapping("get")
@@ -28,6 +45,11 @@ public class restockController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<Restock>> getRestockPage(@ModelAttribute StockPageFilter filter) {
+        return ResponseEntity.ok(restockService.getRestockPage(filter));
+    }
+
     @GetMapping("/get/{id}")
     public ResponseEntity<Restock> getRestockById(@PathVariable Integer id){
         try{
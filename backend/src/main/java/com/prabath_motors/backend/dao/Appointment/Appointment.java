@@ -32,4 +32,7 @@ public class Appointment {
     @Column(nullable = false)
     private Double mileage;
 
+    // Workshop bay from 1, assigned when booking; null for appointments that never held a slot
+    private Integer bay;
+
 }
@@ -11,8 +11,14 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status", columnList = "status, id"),
+        @Index(name = Job.JOB_ID_INDEX, columnList = "jobId", unique = true)
+})
 public class Job {
+    public static final String JOB_ID_INDEX = "uk_jobs_job_id";
+    public static final String TASK_LINE_INDEX = "uk_job_tasks_line";
+    public static final String SPARE_PART_LINE_INDEX = "uk_job_spare_parts_line";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,16 +37,22 @@ public class Job {
     private String assignedEmployee;
 
     @ElementCollection
-    @CollectionTable(name = "job_tasks", joinColumns = @JoinColumn(name = "job_id"))
+    @CollectionTable(name = "job_tasks", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = TASK_LINE_INDEX, columnList = "job_id, lineNo", unique = true))
     private List<NamedCostItem> tasks; //Multiple tasks assigned to a job
 
     @ElementCollection
-    @CollectionTable(name = "job_spare_parts", joinColumns = @JoinColumn(name = "job_id"))
+    @CollectionTable(name = "job_spare_parts", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = SPARE_PART_LINE_INDEX, columnList = "job_id, lineNo", unique = true))
     private List<NamedCostItem> spareParts;
 
+    // Only changed through the conditional updates in JobRepository, see JobStatus for the allowed moves
     @Column(nullable = false)
-    private String status; //Ongoing or Done
+    private JobStatus status;
 
 
     private double totalCost; //Ongoing or Done
+
+    // Set once the spare parts have been written out as Stock_Out rows, so a retried completion cannot take them twice
+    private boolean sparePartsConsumed;
 }
@@ -0,0 +1,44 @@
+package com.prabath_motors.backend.dao.Appointment;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored and serialized by label, which keeps the existing "Ongoing" / "Done" rows and clients as they are
+public enum JobStatus {
+    ONGOING("Ongoing", null),
+    DONE("Done", ONGOING),
+    INVOICED("Invoiced", DONE);
+
+    private final String label;
+    private final JobStatus reachedFrom;
+
+    JobStatus(String label, JobStatus reachedFrom) {
+        this.label = label;
+        this.reachedFrom = reachedFrom;
+    }
+
+    // The only status a job may move to this one from, or null for the initial status
+    public JobStatus getReachedFrom() {
+        return reachedFrom;
+    }
+
+    @JsonCreator
+    public static JobStatus fromLabel(String label) {
+        for (JobStatus status : values()) {
+            if (status.label.equalsIgnoreCase(label) || status.name().equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
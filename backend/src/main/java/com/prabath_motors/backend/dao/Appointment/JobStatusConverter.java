@@ -0,0 +1,25 @@
+package com.prabath_motors.backend.dao.Appointment;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class JobStatusConverter implements AttributeConverter<JobStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(JobStatus status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    @Override
+    public JobStatus convertToEntityAttribute(String label) {
+        if (label == null) {
+            return null;
+        }
+        JobStatus status = JobStatus.fromLabel(label);
+        if (status == null) {
+            throw new IllegalStateException("Unknown job status in database: " + label);
+        }
+        return status;
+    }
+}
@@ -10,6 +10,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Embeddable
 public class NamedCostItem {
+    // Unique within the job, so a line can be addressed even when its itemId is missing or repeated
+    private Integer lineNo;
     private Long itemId; // Added ID field for both tasks and spare parts
     private String name;
     private double cost;
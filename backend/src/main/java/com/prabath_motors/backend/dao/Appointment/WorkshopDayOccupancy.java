@@ -0,0 +1,45 @@
+package com.prabath_motors.backend.dao.Appointment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// The booked slots of every bay on one day; the row is also what concurrent bookings for that day lock
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkshopDayOccupancy {
+    public static final int MAX_BAYS = 64;
+
+    @Id
+    private LocalDate date;
+
+    // 8 bytes per bay, each a bitmask of that bay's booked slots with bit 0 for the first slot of the day
+    @Column(nullable = false, length = MAX_BAYS * Long.BYTES)
+    private byte[] bays;
+
+    // Bays are counted from 0 here; bays past the stored ones are free
+    public long getBay(int bay) {
+        int offset = bay * Long.BYTES;
+        return bays == null || offset + Long.BYTES > bays.length ? 0L : ByteBuffer.wrap(bays).getLong(offset);
+    }
+
+    public void setBay(int bay, long slots) {
+        int offset = bay * Long.BYTES;
+        // A new array, so the change is picked up however the old one is compared
+        byte[] updated = Arrays.copyOf(bays == null ? new byte[0] : bays,
+                Math.max(bays == null ? 0 : bays.length, offset + Long.BYTES));
+        ByteBuffer.wrap(updated).putLong(offset, slots);
+        this.bays = updated;
+    }
+}
@@ -0,0 +1,32 @@
+package com.prabath_motors.backend.dao.Stock;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// Stock_Out movements pre-aggregated per day and item, kept in step with every Stock_Out write
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DailySalesRollupId.class)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class DailySalesRollup {
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private int itemID;
+
+    private long qtySold;
+
+    private double revenue;
+
+    private long movementCount;
+}
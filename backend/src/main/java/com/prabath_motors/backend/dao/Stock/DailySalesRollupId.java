@@ -0,0 +1,16 @@
+package com.prabath_motors.backend.dao.Stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesRollupId implements Serializable {
+    private LocalDate salesDate;
+    private int itemID;
+}
@@ -16,7 +16,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = {
+        @Index(name = Item.BARCODE_INDEX, columnList = "itemBarcode", unique = true),
+        @Index(name = "idx_item_stock_level", columnList = "stockLevel"),
+        @Index(name = "idx_item_name", columnList = "itemName"),
+        @Index(name = "idx_item_supplier", columnList = "supplierId")
+})
 public class Item {
+    public static final String BARCODE_INDEX = "uk_item_barcode";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int itemID;
@@ -33,8 +41,9 @@ public class Item {
     @Size(min = 2, max = 100, message = "Item name must be between 2 and 100 characters")
     private String itemName;
 
+    // Null when the item has no barcode; 0 from older clients is stored as null
     @Min(value = 0, message = "Barcode must be positive")
-    private int itemBarcode;
+    private Integer itemBarcode;
 
     @Min(value = 1, message = "Recorder level must be at least 1")
     private int recorderLevel;
@@ -48,7 +57,8 @@ public class Item {
     @DecimalMin(value = "0.01", message = "Sell price must be greater than 0")
     private double sellPrice;
 
-    private String stockLevel;
+    @Enumerated(EnumType.ORDINAL)
+    private StockLevel stockLevel;
 
     @Min(value = 1, message = "Rack number must be positive")
     private int rackNo;
@@ -0,0 +1,36 @@
+package com.prabath_motors.backend.dao.Stock;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// Running estimate of an item's daily usage, folded forward one day at a time as Stock_Out rows arrive
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ItemConsumptionForecast {
+    @Id
+    private int itemID;
+
+    // Exponentially weighted mean and variance of the usage on the days before openDate
+    private double avgDailyUsage;
+
+    private double usageVariance;
+
+    // Latest day with usage; it is kept apart until a later day arrives because it may not be over yet
+    private LocalDate openDate;
+
+    private long openDayQty;
+
+    // Days folded into the averages so far
+    private long trackedDays;
+}
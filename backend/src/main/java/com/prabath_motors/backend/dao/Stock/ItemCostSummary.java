@@ -0,0 +1,37 @@
+package com.prabath_motors.backend.dao.Stock;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Running purchase totals for one item, maintained alongside every Stock_In write
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ItemCostSummary {
+    @Id
+    private int itemID;
+
+    private long purchaseCount;
+
+    private long qtySum;
+
+    private double costSum;
+
+    private double unitPriceSum;
+
+    private double lastUnitPrice;
+
+    private int lastStockInID;
+
+    // Plain average of the recorded unit prices, same figure the reports used to compute from the raw rows
+    public double getAverageUnitPrice() {
+        return purchaseCount > 0 ? unitPriceSum / purchaseCount : 0;
+    }
+}
@@ -16,9 +16,20 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = {
+        @Index(name = "idx_restock_item_status", columnList = "itemID, restockStatus"),
+        @Index(name = "idx_restock_date", columnList = "date, restockID"),
+        @Index(name = "idx_restock_status_date", columnList = "restockStatus, date, restockID"),
+        @Index(name = "idx_restock_supplier_date", columnList = "supplierID, date, restockID")
+})
 public class Restock {
+    public static final String STATUS_PENDING = "Pending";
+    public static final String ID_SEQUENCE = "restock_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private int restockID;
     
     @NotNull(message = "Item ID is required")
@@ -0,0 +1,56 @@
+package com.prabath_motors.backend.dao.Stock;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Stored by ordinal, so the declaration order is also the sort order from most to least urgent; append only
+public enum StockLevel {
+    CRITICAL("Critical", 0),
+    LOW("Low", 1),
+    MEDIUM("Medium", 2),
+    HIGH("High", 4);
+
+    private final String label;
+    private final int reorderMultiple;
+
+    StockLevel(String label, int reorderMultiple) {
+        this.label = label;
+        this.reorderMultiple = reorderMultiple;
+    }
+
+    // An item is at this level from this many times its reorder level up; ItemRepository passes these to its queries
+    public int getReorderMultiple() {
+        return reorderMultiple;
+    }
+
+    public static StockLevel of(int qtyAvailable, int recorderLevel) {
+        StockLevel[] levels = values();
+        for (int i = levels.length - 1; i > 0; i--) {
+            if (qtyAvailable >= recorderLevel * levels[i].reorderMultiple) {
+                return levels[i];
+            }
+        }
+        return CRITICAL;
+    }
+
+    // Clients send the label; anything else is ignored because the level is always recalculated on save
+    @JsonCreator
+    public static StockLevel fromLabel(String label) {
+        for (StockLevel level : values()) {
+            if (level.label.equalsIgnoreCase(label) || level.name().equalsIgnoreCase(label)) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
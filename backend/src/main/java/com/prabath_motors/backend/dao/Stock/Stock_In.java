@@ -16,9 +16,19 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = {
+        @Index(name = "idx_stock_in_supplier_date", columnList = "supplierID, dateAdded"),
+        @Index(name = "idx_stock_in_item_date", columnList = "itemID, dateAdded, stockInID"),
+        @Index(name = "idx_stock_in_date", columnList = "dateAdded, stockInID")
+})
 public class Stock_In {
+    // Ids are reserved in blocks so inserts can be batched; on MySQL the sequence is the stock_in_seq table
+    public static final String ID_SEQUENCE = "stock_in_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private int stockInID;
     
     @NotNull(message = "Item ID is required")
@@ -16,9 +16,18 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = {
+        @Index(name = "idx_stock_out_date", columnList = "dateUsed, stockOutID"),
+        @Index(name = "idx_stock_out_item_date", columnList = "itemID, dateUsed, stockOutID")
+})
 public class Stock_Out {
+    // Ids are reserved in blocks so a job's parts can be inserted as one batch; on MySQL this is the stock_out_seq table
+    public static final String ID_SEQUENCE = "stock_out_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private int stockOutID;
     
     @NotNull(message = "Item ID is required")
@@ -12,6 +12,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = @Index(name = "idx_supplier_name", columnList = "supplierName, supplierId"))
 public class Supplier {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,4 +30,8 @@ public class AppointmentDTO {
     @NotNull(message = "Mileage is required")
     @Min(value = 0, message = "Mileage must be a positive number")
     private Double mileage;
+
+    // Optional when booking; any free bay is taken when it is left out
+    @Min(value = 1, message = "Bay must be at least 1")
+    private Integer bay;
 }
@@ -0,0 +1,24 @@
+package com.prabath_motors.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of closing several jobs; each job is closed or not independently of the others
+@Data
+public class JobBulkCloseResult {
+    private List<Long> closed = new ArrayList<>();
+    private List<Long> alreadyDone = new ArrayList<>();
+    private List<JobError> failed = new ArrayList<>(); // left as they were, e.g. spare parts that cannot be consumed
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JobError {
+        private Long id;
+        private String message;
+    }
+}
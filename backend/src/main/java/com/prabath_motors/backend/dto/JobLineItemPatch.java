@@ -0,0 +1,21 @@
+package com.prabath_motors.backend.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Changes to one task or spare part of a job; null fields are left as they are
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLineItemPatch {
+
+    private String name;
+
+    @PositiveOrZero(message = "Cost cannot be negative")
+    private Double cost;
+
+    @PositiveOrZero(message = "Quantity cannot be negative")
+    private Integer quantity;
+}
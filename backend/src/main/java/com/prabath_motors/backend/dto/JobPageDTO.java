@@ -0,0 +1,19 @@
+package com.prabath_motors.backend.dto;
+
+import com.prabath_motors.backend.dao.Appointment.Job;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPageDTO {
+    private List<Job> jobs;
+    private int page;
+    private int size;
+    private long totalJobs;
+    private int totalPages;
+}
@@ -0,0 +1,18 @@
+package com.prabath_motors.backend.dto;
+
+import com.prabath_motors.backend.dao.Appointment.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// The job header without its line items; immutable because instances are shared through the lookup cache
+@Getter
+@AllArgsConstructor
+public class JobSummary {
+    private final Long id;
+    private final String jobId;
+    private final String vehicleRegistrationNumber;
+    private final String serviceSection;
+    private final String assignedEmployee;
+    private final JobStatus status;
+    private final double totalCost;
+}
@@ -0,0 +1,12 @@
+package com.prabath_motors.backend.dto.ReportJobDto;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class ReportJobRequest {
+    private String type; // e.g. sales_summary, inventory, monthly_utility_analysis
+    private Map<String, Object> params = new HashMap<>(); // same body the synchronous report endpoint takes
+}
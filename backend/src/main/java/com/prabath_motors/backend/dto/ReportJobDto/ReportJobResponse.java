@@ -0,0 +1,21 @@
+package com.prabath_motors.backend.dto.ReportJobDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String jobId;
+    private String type;
+    private ReportJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt; // when a finished job and its result are discarded
+    private String error;
+}
@@ -0,0 +1,8 @@
+package com.prabath_motors.backend.dto.ReportJobDto;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
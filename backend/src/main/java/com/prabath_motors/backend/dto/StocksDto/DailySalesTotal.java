@@ -0,0 +1,16 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesTotal {
+    private LocalDate salesDate;
+    private Long qtySold;
+    private Double revenue;
+}
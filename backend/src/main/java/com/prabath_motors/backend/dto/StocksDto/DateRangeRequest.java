@@ -8,4 +8,5 @@ public class DateRangeRequest {
     private LocalDate startDate;
     private LocalDate endDate;
     private boolean showLowStockOnly;
+    private String granularity; // daily, weekly or monthly for the sales trend report
 }
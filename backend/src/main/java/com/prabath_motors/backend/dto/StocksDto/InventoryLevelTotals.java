@@ -0,0 +1,17 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Item count and stock values for one stock level, from the GROUP BY stockLevel query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryLevelTotals {
+    private StockLevel stockLevel;
+    private Long itemCount;
+    private Double inventoryValue;
+    private Double purchaseValue;
+}
@@ -0,0 +1,21 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class InventoryReportResponse {
+    private List<InventoryReportRow> items;
+    private long totalItems;
+    private long criticalItems;
+    private long lowItems;
+    private long mediumItems;
+    private long highItems;
+    private double totalInventoryValue;
+    private double totalPurchaseValue;
+    private double potentialProfit;
+    private int page;
+    private int size;
+    private int totalPages;
+}
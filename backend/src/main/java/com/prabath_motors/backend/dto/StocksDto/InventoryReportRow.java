@@ -0,0 +1,46 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// One item of the inventory report, projected straight from the item, category, supplier and cost summary tables
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryReportRow {
+    private int itemID;
+    private String itemName;
+    private Integer barcode;
+    private String category;
+    private String supplier;
+    private int qtyAvailable;
+    private int reorderLevel;
+    private StockLevel stockLevel;
+    private double sellPrice;
+    private double avgPurchasePrice;
+    private double inventoryValue;
+    private int rackNo;
+    private LocalDate lastUpdated;
+
+    public InventoryReportRow(Integer itemID, String itemName, Integer barcode, String category, String supplier,
+                              Integer qtyAvailable, Integer reorderLevel, StockLevel stockLevel, Double sellPrice,
+                              Double avgPurchasePrice, Integer rackNo, LocalDate lastUpdated) {
+        this.itemID = itemID;
+        this.itemName = itemName;
+        this.barcode = barcode;
+        this.category = category;
+        this.supplier = supplier;
+        this.qtyAvailable = qtyAvailable;
+        this.reorderLevel = reorderLevel;
+        this.stockLevel = stockLevel;
+        this.sellPrice = sellPrice;
+        this.avgPurchasePrice = avgPurchasePrice == null ? 0 : avgPurchasePrice;
+        this.inventoryValue = qtyAvailable * sellPrice;
+        this.rackNo = rackNo;
+        this.lastUpdated = lastUpdated;
+    }
+}
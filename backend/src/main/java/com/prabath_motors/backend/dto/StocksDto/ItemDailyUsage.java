@@ -0,0 +1,16 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDailyUsage {
+    private Integer itemID;
+    private LocalDate dateUsed;
+    private Long qtyUsed;
+}
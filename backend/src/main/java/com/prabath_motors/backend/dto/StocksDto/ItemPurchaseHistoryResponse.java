@@ -0,0 +1,26 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItemPurchaseHistoryResponse {
+    private ItemDetails itemDetails;
+    private List<ItemPurchaseHistoryRow> purchaseHistory;
+    private long totalPurchases;
+    private long totalQuantity;
+    private double totalCost;
+    private double averageUnitPrice;
+    private String nextCursor; // pass back as "cursor" to fetch the following page, null on the last page and when neither cursor nor limit was sent
+
+    @Data
+    public static class ItemDetails {
+        private String itemName;
+        private Integer itemBarcode;
+        private String categoryName;
+        private int qtyAvailable;
+        private StockLevel stockLevel;
+    }
+}
@@ -0,0 +1,19 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemPurchaseHistoryRow {
+    private Integer stockInID;
+    private LocalDate dateAdded;
+    private Integer qtyAdded;
+    private Double unitPrice;
+    private Double sellPrice;
+    private String supplierName;
+}
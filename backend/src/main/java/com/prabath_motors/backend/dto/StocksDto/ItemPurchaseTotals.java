@@ -0,0 +1,21 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// SUM/COUNT over an item's purchases in a range; the sums are null when there are no purchases
+@Getter
+@Setter
+@NoArgsConstructor
+public class ItemPurchaseTotals {
+    private long purchaseCount;
+    private long totalQuantity;
+    private double totalCost;
+
+    public ItemPurchaseTotals(Long purchaseCount, Long totalQuantity, Double totalCost) {
+        this.purchaseCount = purchaseCount == null ? 0 : purchaseCount;
+        this.totalQuantity = totalQuantity == null ? 0 : totalQuantity;
+        this.totalCost = totalCost == null ? 0 : totalCost;
+    }
+}
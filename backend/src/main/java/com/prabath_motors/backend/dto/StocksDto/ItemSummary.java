@@ -0,0 +1,33 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// The fields the counter needs after a scan or search, kept in memory for every item
+@Getter
+@Setter
+@NoArgsConstructor
+public class ItemSummary {
+    private int itemID;
+    private String itemName;
+    private String itemBrand;
+    private Integer itemBarcode;
+    private int qtyAvailable;
+    private double sellPrice;
+    private StockLevel stockLevel;
+    private int rackNo;
+
+    public ItemSummary(Integer itemID, String itemName, String itemBrand, Integer itemBarcode, Integer qtyAvailable,
+                       Double sellPrice, StockLevel stockLevel, Integer rackNo) {
+        this.itemID = itemID;
+        this.itemName = itemName;
+        this.itemBrand = itemBrand;
+        this.itemBarcode = itemBarcode;
+        this.qtyAvailable = qtyAvailable;
+        this.sellPrice = sellPrice;
+        this.stockLevel = stockLevel;
+        this.rackNo = rackNo;
+    }
+}
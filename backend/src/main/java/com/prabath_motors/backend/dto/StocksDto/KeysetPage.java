@@ -0,0 +1,15 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor; // pass back as "cursor" with the same filters and sort, null on the last page
+}
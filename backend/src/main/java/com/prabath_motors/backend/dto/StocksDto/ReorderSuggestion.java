@@ -0,0 +1,18 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Data;
+
+@Data
+public class ReorderSuggestion {
+    private int itemID;
+    private String itemName;
+    private int supplierId;
+    private int qtyAvailable;
+    private int recorderLevel;
+    private double avgDailyUsage;
+    private double usageStdDev;
+    private double leadTimeDays;
+    private Double daysOfStockLeft; // null when the item is not being used
+    private int suggestedReorderLevel;
+    private int suggestedOrderQty; // to order now; 0 while the item is above the suggested reorder level
+}
@@ -0,0 +1,19 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCacheStats {
+    private long size;
+    private long maxEntries;
+    private long ttlMinutes;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long invalidationCount;
+}
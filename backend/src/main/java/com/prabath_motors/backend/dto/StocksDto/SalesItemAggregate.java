@@ -0,0 +1,20 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the grouped sales query: quantity sold per item in the range,
+ * together with the item's sell price and average purchase price.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesItemAggregate {
+    private Integer itemID;
+    private String itemName;
+    private Long soldQty;
+    private Double sellPrice;
+    private Double avgPurchasePrice; // null when the item has no stock-in history
+}
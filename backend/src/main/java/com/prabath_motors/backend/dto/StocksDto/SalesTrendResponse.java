@@ -0,0 +1,28 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SalesTrendResponse {
+    private String granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<SalesTrendPoint> points;
+    private long totalQtySold;
+    private double totalRevenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SalesTrendPoint {
+        private LocalDate periodStart;
+        private LocalDate periodEnd;
+        private long qtySold;
+        private double revenue;
+    }
+}
@@ -0,0 +1,24 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StockInImportResult {
+    private int importedCount;
+    private int itemsUpdated;
+    private List<Integer> stockInIDs = new ArrayList<>();
+    private List<LineError> errors = new ArrayList<>(); // nothing is saved when this is not empty
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private int line; // 1-based position in the JSON array, or the CSV line number
+        private String message;
+    }
+}
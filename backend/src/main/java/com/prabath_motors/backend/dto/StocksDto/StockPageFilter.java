@@ -0,0 +1,24 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of the keyset-paged stock lists; filters that do not apply to a list are ignored
+@Data
+public class StockPageFilter {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private Integer itemID;
+    private Integer supplierID;
+    private String status;
+    private String sortBy;
+    private String direction; // "asc" or "desc"
+    private String cursor; // nextCursor of the previous page, empty for the first page
+    private Integer limit;
+}
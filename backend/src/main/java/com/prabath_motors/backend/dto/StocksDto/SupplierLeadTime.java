@@ -0,0 +1,7 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+// Average days between a restock being raised and the next delivery of the item, per supplier
+public interface SupplierLeadTime {
+    Integer getSupplierId();
+    Double getLeadTimeDays();
+}
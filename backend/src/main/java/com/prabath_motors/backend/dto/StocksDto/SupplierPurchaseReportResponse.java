@@ -0,0 +1,17 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SupplierPurchaseReportResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<SupplierPurchaseRow> suppliers;
+    private int suppliersCount;
+    private long totalPurchases;
+    private long totalQuantity;
+    private double totalSpend;
+}
@@ -0,0 +1,31 @@
+package com.prabath_motors.backend.dto.StocksDto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Purchases from one supplier in the report range, aggregated by the database
+@Getter
+@Setter
+@NoArgsConstructor
+public class SupplierPurchaseRow {
+    private int supplierID;
+    private String supplierName;
+    private long purchaseCount;
+    private long totalQuantity;
+    private double totalSpend;
+    private long distinctItems;
+    private double avgUnitPrice;
+
+    public SupplierPurchaseRow(Integer supplierID, String supplierName, Long purchaseCount, Long totalQuantity,
+                               Double totalSpend, Long distinctItems) {
+        this.supplierID = supplierID;
+        this.supplierName = supplierName;
+        this.purchaseCount = purchaseCount;
+        this.totalQuantity = totalQuantity;
+        this.totalSpend = totalSpend;
+        this.distinctItems = distinctItems;
+        // Weighted by quantity, so large deliveries count for more than small top-ups
+        this.avgUnitPrice = totalQuantity > 0 ? totalSpend / totalQuantity : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.prabath_motors.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkshopDaySlots {
+    private LocalDate date;
+    private List<FreeSlot> slots;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FreeSlot {
+        private LocalTime time;
+        private int freeBays;
+    }
+}
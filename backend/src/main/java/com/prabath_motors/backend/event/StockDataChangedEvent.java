@@ -0,0 +1,30 @@
+package com.prabath_motors.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// Published after stock data is written; a null itemId or date means the change is not limited to one item or day
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class StockDataChangedEvent {
+
+    public enum Source {
+        STOCK_IN,
+        STOCK_OUT,
+        ITEM,
+        SUPPLIER,
+        ITEM_CTGRY
+    }
+
+    private final Source source;
+    private final Integer itemId;
+    private final LocalDate date;
+
+    public static StockDataChangedEvent of(Source source) {
+        return new StockDataChangedEvent(source, null, null);
+    }
+}
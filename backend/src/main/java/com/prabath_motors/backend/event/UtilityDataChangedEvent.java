@@ -0,0 +1,19 @@
+package com.prabath_motors.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// Published after utility bills are written; the utility reports read every bill, so no finer scope is carried
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class UtilityDataChangedEvent {
+
+    public enum Source {
+        UTILITY_BILL,
+        MONTHLY_UTILITY_BILL
+    }
+
+    private final Source source;
+}
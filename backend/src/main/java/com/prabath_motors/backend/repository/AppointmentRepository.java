@@ -4,6 +4,11 @@ import com.prabath_motors.backend.dao.Appointment.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    List<Appointment> findByBayIsNullAndDateGreaterThanEqualOrderByIdAsc(LocalDate date);
 }
@@ -0,0 +1,83 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Stock.DailySalesRollup;
+import com.prabath_motors.backend.dao.Stock.DailySalesRollupId;
+import com.prabath_motors.backend.dto.StocksDto.DailySalesTotal;
+import com.prabath_motors.backend.dto.StocksDto.SalesItemAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollupId> {
+
+    // Creates the day's row for the item or adds to it in one statement, so two first sales cannot both insert;
+    // the incoming row is read through the "new" alias rather than the deprecated VALUES() function
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, itemid, qty_sold, revenue, movement_count) " +
+            "VALUES (:salesDate, :itemID, :qty, :revenue, :count) AS new " +
+            "ON DUPLICATE KEY UPDATE qty_sold = qty_sold + new.qty_sold, revenue = revenue + new.revenue, " +
+            "movement_count = movement_count + new.movement_count", nativeQuery = true)
+    int upsertRollup(@Param("salesDate") LocalDate salesDate, @Param("itemID") int itemID,
+                     @Param("qty") long qty, @Param("revenue") double revenue, @Param("count") long count);
+
+    @Modifying
+    @Query("UPDATE DailySalesRollup r SET r.qtySold = r.qtySold + :qty, r.revenue = r.revenue + :revenue, " +
+            "r.movementCount = r.movementCount + :count WHERE r.salesDate = :salesDate AND r.itemID = :itemID")
+    int addToRollup(@Param("salesDate") LocalDate salesDate, @Param("itemID") int itemID,
+                    @Param("qty") long qty, @Param("revenue") double revenue, @Param("count") long count);
+
+    // Drops a row once reversals have taken all of its quantity back out
+    @Modifying
+    @Query("DELETE FROM DailySalesRollup r WHERE r.salesDate = :salesDate AND r.itemID = :itemID AND r.qtySold <= 0")
+    int deleteIfEmpty(@Param("salesDate") LocalDate salesDate, @Param("itemID") int itemID);
+
+    @Modifying
+    @Query("DELETE FROM DailySalesRollup r WHERE r.salesDate BETWEEN :startDate AND :endDate")
+    int deleteBySalesDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("INSERT INTO DailySalesRollup (salesDate, itemID, qtySold, revenue, movementCount) " +
+            "SELECT so.dateUsed, so.itemID, SUM(so.qtyUsed), SUM(so.qtyUsed * so.soldPrice), COUNT(so) " +
+            "FROM Stock_Out so WHERE so.dateUsed BETWEEN :startDate AND :endDate " +
+            "GROUP BY so.dateUsed, so.itemID")
+    int insertFromStockOut(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    String SALES_BY_ITEM_QUERY = "SELECT new com.prabath_motors.backend.dto.StocksDto.SalesItemAggregate(" +
+            "i.itemID, i.itemName, SUM(r.qtySold), i.sellPrice, " +
+            "CASE WHEN c.purchaseCount > 0 THEN c.unitPriceSum / c.purchaseCount END) " +
+            "FROM DailySalesRollup r JOIN Item i ON i.itemID = r.itemID " +
+            "LEFT JOIN ItemCostSummary c ON c.itemID = i.itemID " +
+            "WHERE r.salesDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY i.itemID, i.itemName, i.sellPrice, c.purchaseCount, c.unitPriceSum";
+
+    // Sales per item for the range, joined with the item and its purchase cost summary in one round trip
+    @Query(SALES_BY_ITEM_QUERY)
+    List<SalesItemAggregate> summarizeSalesByItem(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // Cursor variant for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ItemRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SALES_BY_ITEM_QUERY + " ORDER BY i.itemID")
+    Stream<SalesItemAggregate> streamSalesByItem(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.prabath_motors.backend.dto.StocksDto.DailySalesTotal(" +
+            "r.salesDate, SUM(r.qtySold), SUM(r.revenue)) FROM DailySalesRollup r " +
+            "WHERE r.salesDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.salesDate ORDER BY r.salesDate")
+    List<DailySalesTotal> findDailyTotals(@Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,27 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Stock.ItemConsumptionForecast;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ItemConsumptionForecastRepository extends JpaRepository<ItemConsumptionForecast, Integer> {
+
+    // Creates the row for an item's first stock-out; a concurrent first stock-out simply finds it there
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO item_consumption_forecast " +
+            "(itemid, avg_daily_usage, usage_variance, open_day_qty, tracked_days) VALUES (:itemID, 0, 0, 0, 0)",
+            nativeQuery = true)
+    int insertIfMissing(@Param("itemID") int itemID);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM ItemConsumptionForecast f WHERE f.itemID = :itemID")
+    Optional<ItemConsumptionForecast> findByIdForUpdate(@Param("itemID") int itemID);
+}
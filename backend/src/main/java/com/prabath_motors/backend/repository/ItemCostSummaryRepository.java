@@ -0,0 +1,58 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Stock.ItemCostSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemCostSummaryRepository extends JpaRepository<ItemCostSummary, Integer> {
+
+    // Applied as a single relative UPDATE so concurrent stock-ins for the same item never overwrite each other
+    @Modifying
+    @Query("UPDATE ItemCostSummary c SET c.purchaseCount = c.purchaseCount + :count, " +
+            "c.qtySum = c.qtySum + :qty, c.costSum = c.costSum + :cost, " +
+            "c.unitPriceSum = c.unitPriceSum + :unitPrice WHERE c.itemID = :itemID")
+    int addToTotals(@Param("itemID") int itemID, @Param("count") long count, @Param("qty") long qty,
+                    @Param("cost") double cost, @Param("unitPrice") double unitPrice);
+
+    // Creates the item's row or adds to it in one statement, so two first purchases of an item cannot both insert.
+    // The incoming row is read through the "new" alias rather than the deprecated VALUES() function.
+    // MySQL applies ON DUPLICATE KEY UPDATE assignments left to right, each seeing the columns already assigned,
+    // so last_stock_inid must stay the last assignment: the price has to be compared against the stored id.
+    @Modifying
+    @Query(value = "INSERT INTO item_cost_summary " +
+            "(itemid, purchase_count, qty_sum, cost_sum, unit_price_sum, last_unit_price, last_stock_inid) " +
+            "VALUES (:itemID, :count, :qty, :cost, :unitPriceSum, :lastUnitPrice, :lastStockInID) AS new " +
+            "ON DUPLICATE KEY UPDATE purchase_count = purchase_count + new.purchase_count, " +
+            "qty_sum = qty_sum + new.qty_sum, cost_sum = cost_sum + new.cost_sum, " +
+            "unit_price_sum = unit_price_sum + new.unit_price_sum, " +
+            "last_unit_price = IF(last_stock_inid <= new.last_stock_inid, new.last_unit_price, last_unit_price), " +
+            "last_stock_inid = GREATEST(last_stock_inid, new.last_stock_inid)",
+            nativeQuery = true)
+    int upsertTotals(@Param("itemID") int itemID, @Param("count") long count, @Param("qty") long qty,
+                     @Param("cost") double cost, @Param("unitPriceSum") double unitPriceSum,
+                     @Param("lastUnitPrice") double lastUnitPrice, @Param("lastStockInID") int lastStockInID);
+
+    @Modifying
+    @Query("UPDATE ItemCostSummary c SET c.lastUnitPrice = :unitPrice, c.lastStockInID = :stockInID " +
+            "WHERE c.itemID = :itemID")
+    int setLastPurchase(@Param("itemID") int itemID, @Param("stockInID") int stockInID,
+                        @Param("unitPrice") double unitPrice);
+
+    @Query("SELECT c.lastStockInID FROM ItemCostSummary c WHERE c.itemID = :itemID")
+    Integer findLastStockInID(@Param("itemID") int itemID);
+
+    @Modifying
+    @Query("INSERT INTO ItemCostSummary (itemID, purchaseCount, qtySum, costSum, unitPriceSum, lastUnitPrice, lastStockInID) " +
+            "SELECT si.itemID, COUNT(si), SUM(si.qtyAdded), SUM(si.qtyAdded * si.unitPrice), SUM(si.unitPrice), 0.0, MAX(si.stockInID) " +
+            "FROM Stock_In si GROUP BY si.itemID")
+    int insertTotalsFromStockIn();
+
+    @Modifying
+    @Query("UPDATE ItemCostSummary c SET c.lastUnitPrice = " +
+            "(SELECT si.unitPrice FROM Stock_In si WHERE si.stockInID = c.lastStockInID)")
+    int refreshLastUnitPrices();
+}
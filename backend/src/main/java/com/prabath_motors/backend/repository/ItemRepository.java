@@ -1,13 +1,132 @@
 package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.dto.StocksDto.InventoryLevelTotals;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportRow;
+import com.prabath_motors.backend.dto.StocksDto.ItemSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 //Spring Data JPA repository to interact with the database
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Integer> {
-    List<Item> findByStockLevelIn(List<String> stockLevels);
-}
\ No newline at end of file
+public interface ItemRepository extends JpaRepository<Item, Integer>, JpaSpecificationExecutor<Item> {
+    // MySQL Connector/J only streams rows one at a time when the fetch size is Integer.MIN_VALUE
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    String INVENTORY_ROW_SELECT = "SELECT new com.prabath_motors.backend.dto.StocksDto.InventoryReportRow(" +
+            "i.itemID, i.itemName, i.itemBarcode, COALESCE(ct.itemCtgryName, 'Unknown'), " +
+            "COALESCE(s.supplierName, 'Unknown'), i.qtyAvailable, i.recorderLevel, i.stockLevel, i.sellPrice, " +
+            "CASE WHEN c.purchaseCount > 0 THEN c.unitPriceSum / c.purchaseCount END, i.rackNo, i.updatedDate) " +
+            "FROM Item i LEFT JOIN Item_Ctgry ct ON ct.itemCtgryId = i.itemCtgryID " +
+            "LEFT JOIN Supplier s ON s.supplierId = i.supplierId " +
+            "LEFT JOIN ItemCostSummary c ON c.itemID = i.itemID ";
+
+    String STOCK_LEVEL = "com.prabath_motors.backend.dao.Stock.StockLevel.";
+
+    // StockLevel.of applied to the stored quantity; the thresholds are bound from StockLevel by the default methods
+    String STOCK_LEVEL_CASE = "CASE WHEN i.qtyAvailable >= i.recorderLevel * :high THEN " + STOCK_LEVEL + "HIGH " +
+            "WHEN i.qtyAvailable >= i.recorderLevel * :medium THEN " + STOCK_LEVEL + "MEDIUM " +
+            "WHEN i.qtyAvailable >= i.recorderLevel * :low THEN " + STOCK_LEVEL + "LOW ELSE " + STOCK_LEVEL + "CRITICAL END";
+
+    String LOW_STOCK_FILTER = "WHERE (:lowStockOnly = false OR i.stockLevel <= " + STOCK_LEVEL + "LOW) ";
+
+    // Only the CASE matching :sortBy yields values, the others are constant; itemID keeps page boundaries stable
+    String INVENTORY_ORDER_BY = "ORDER BY " +
+            "CASE WHEN :sortBy = 'qtyAvailable' THEN i.qtyAvailable END ASC, " +
+            "CASE WHEN :sortBy = 'inventoryValue' THEN i.qtyAvailable * i.sellPrice END DESC, " +
+            "CASE WHEN :sortBy = 'itemName' THEN LOWER(i.itemName) END ASC, " +
+            "CASE WHEN :sortBy = 'category' THEN LOWER(ct.itemCtgryName) END ASC, " +
+            "CASE WHEN :sortBy = 'stockLevel' THEN i.stockLevel END ASC, " +
+            "i.itemID ASC";
+
+    String ITEM_SUMMARY_SELECT = "SELECT new com.prabath_motors.backend.dto.StocksDto.ItemSummary(" +
+            "i.itemID, i.itemName, i.itemBrand, i.itemBarcode, i.qtyAvailable, i.sellPrice, i.stockLevel, i.rackNo) " +
+            "FROM Item i ";
+
+    List<Item> findByStockLevelIn(List<StockLevel> stockLevels);
+
+    @Query(ITEM_SUMMARY_SELECT)
+    List<ItemSummary> findAllSummaries();
+
+    @Query(ITEM_SUMMARY_SELECT + "WHERE i.itemID = :itemID")
+    Optional<ItemSummary> findSummaryById(@Param("itemID") Integer itemID);
+
+    @Query(ITEM_SUMMARY_SELECT + "WHERE i.itemBarcode = :barcode")
+    Optional<ItemSummary> findSummaryByBarcode(@Param("barcode") Integer barcode);
+
+    @Query("SELECT COUNT(i) > 0 FROM Item i WHERE i.itemBarcode = :barcode AND i.itemID <> :itemID")
+    boolean existsBarcodeOnOtherItem(@Param("barcode") Integer barcode, @Param("itemID") Integer itemID);
+
+    // Row lock for read-modify-write edits, so they serialize with adjustQtyAvailable instead of overwriting it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.itemID = :itemID")
+    Optional<Item> findByIdForUpdate(@Param("itemID") Integer itemID);
+
+    // Moves stock in one statement; returns 0 if the item is missing or the result would go below zero
+    default int adjustQtyAvailable(Integer itemID, int delta) {
+        return adjustQtyAvailable(itemID, delta, StockLevel.HIGH.getReorderMultiple(),
+                StockLevel.MEDIUM.getReorderMultiple(), StockLevel.LOW.getReorderMultiple());
+    }
+
+    // stockLevel is assigned first and computed from the new quantity, which is correct whether the
+    // database evaluates SET clauses left to right (MySQL) or all against the old row (standard SQL)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Item i SET " +
+            "i.stockLevel = CASE WHEN i.qtyAvailable + :delta >= i.recorderLevel * :high THEN " + STOCK_LEVEL + "HIGH " +
+            "WHEN i.qtyAvailable + :delta >= i.recorderLevel * :medium THEN " + STOCK_LEVEL + "MEDIUM " +
+            "WHEN i.qtyAvailable + :delta >= i.recorderLevel * :low THEN " + STOCK_LEVEL + "LOW " +
+            "ELSE " + STOCK_LEVEL + "CRITICAL END, " +
+            "i.qtyAvailable = i.qtyAvailable + :delta " +
+            "WHERE i.itemID = :itemID AND i.qtyAvailable + :delta >= 0")
+    int adjustQtyAvailable(@Param("itemID") Integer itemID, @Param("delta") int delta,
+                           @Param("high") int high, @Param("medium") int medium, @Param("low") int low);
+
+    // Fixes every item's level in one statement; only rows whose level actually changes are written
+    default int recalculateStockLevels() {
+        return recalculateStockLevels(StockLevel.HIGH.getReorderMultiple(),
+                StockLevel.MEDIUM.getReorderMultiple(), StockLevel.LOW.getReorderMultiple());
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.stockLevel = " + STOCK_LEVEL_CASE + " " +
+            "WHERE i.stockLevel IS NULL OR i.stockLevel <> " + STOCK_LEVEL_CASE)
+    int recalculateStockLevels(@Param("high") int high, @Param("medium") int medium, @Param("low") int low);
+
+    @Query(value = INVENTORY_ROW_SELECT + LOW_STOCK_FILTER + INVENTORY_ORDER_BY,
+            countQuery = "SELECT COUNT(i) FROM Item i " + LOW_STOCK_FILTER)
+    Page<InventoryReportRow> findInventoryRows(@Param("lowStockOnly") boolean lowStockOnly,
+                                               @Param("sortBy") String sortBy,
+                                               Pageable pageable);
+
+    // Forward-only cursor over the inventory report rows; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(INVENTORY_ROW_SELECT + LOW_STOCK_FILTER + INVENTORY_ORDER_BY)
+    Stream<InventoryReportRow> streamInventoryRows(@Param("lowStockOnly") boolean lowStockOnly,
+                                                   @Param("sortBy") String sortBy);
+
+    @Query("SELECT new com.prabath_motors.backend.dto.StocksDto.InventoryLevelTotals(" +
+            "i.stockLevel, COUNT(i), SUM(i.qtyAvailable * i.sellPrice), " +
+            "SUM(i.qtyAvailable * (CASE WHEN c.purchaseCount > 0 THEN c.unitPriceSum / c.purchaseCount ELSE 0.0 END))) " +
+            "FROM Item i LEFT JOIN ItemCostSummary c ON c.itemID = i.itemID " +
+            LOW_STOCK_FILTER + "GROUP BY i.stockLevel")
+    List<InventoryLevelTotals> findInventoryTotalsByStockLevel(@Param("lowStockOnly") boolean lowStockOnly);
+}
@@ -1,13 +1,116 @@
 package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.JobStatus;
+import com.prabath_motors.backend.dto.JobSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
 
     Job findByJobId(String jobId);
+
+    @Query("SELECT new com.prabath_motors.backend.dto.JobSummary(j.id, j.jobId, j.vehicleRegistrationNumber, " +
+            "j.serviceSection, j.assignedEmployee, j.status, j.totalCost) FROM Job j WHERE j.jobId = :jobId")
+    Optional<JobSummary> findSummaryByJobId(@Param("jobId") String jobId);
+
+    boolean existsByJobId(String jobId);
+
+    boolean existsByJobIdAndIdNot(String jobId, Long id);
+
+    // Newest first, straight from the (status, id) index; the jobs themselves are loaded by id afterwards
+    @Query(value = "SELECT j.id FROM Job j WHERE j.status = :status ORDER BY j.id DESC",
+            countQuery = "SELECT COUNT(j) FROM Job j WHERE j.status = :status")
+    Page<Long> findIdsByStatus(@Param("status") JobStatus status, Pageable pageable);
+
+    @Query("SELECT j.status FROM Job j WHERE j.id = :id")
+    Optional<JobStatus> findStatusById(@Param("id") Long id);
+
+    // Only moves the job if nobody else moved it first; 0 means it was not in the expected status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :to WHERE j.id = :id AND j.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") JobStatus from, @Param("to") JobStatus to);
+
+    // The two line item collections are fetched by separate queries, since joining both bags at once would
+    // multiply the rows; the second query fills in the jobs already loaded by the first
+    @EntityGraph(attributePaths = "tasks")
+    @Query("SELECT j FROM Job j WHERE j.id IN :ids")
+    List<Job> findWithTasksByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "spareParts")
+    @Query("SELECT j FROM Job j WHERE j.id IN :ids")
+    List<Job> findWithSparePartsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Returns 1 only for the caller that flips the flag; the row lock makes concurrent completions wait for the winner
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Job j SET j.sparePartsConsumed = true WHERE j.id = :id AND j.sparePartsConsumed = false")
+    int markSparePartsConsumed(@Param("id") Long id);
+
+    // Serializes line item edits of one job
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Job j WHERE j.id = :id")
+    Optional<Job> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.totalCost = j.totalCost + :delta WHERE j.id = :id")
+    int addToTotalCost(@Param("id") Long id, @Param("delta") double delta);
+
+    // A line item is identified by its job and lineNo. These statements touch only the row of that line, where
+    // saving the collection would rewrite all of them; callers hold the job's row lock.
+    @Query(value = "SELECT COALESCE(MAX(line_no), 0) + 1 FROM job_tasks WHERE job_id = :jobId", nativeQuery = true)
+    int nextTaskLineNo(@Param("jobId") Long jobId);
+
+    @Query(value = "SELECT cost FROM job_tasks WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    Optional<Double> findTaskCost(@Param("jobId") Long jobId, @Param("lineNo") int lineNo);
+
+    @Modifying
+    @Query(value = "INSERT INTO job_tasks (job_id, line_no, item_id, name, cost, quantity) " +
+            "VALUES (:jobId, :lineNo, :itemId, :name, :cost, :quantity)", nativeQuery = true)
+    int insertTask(@Param("jobId") Long jobId, @Param("lineNo") int lineNo, @Param("itemId") Long itemId,
+                   @Param("name") String name, @Param("cost") double cost, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE job_tasks SET name = COALESCE(:name, name), cost = COALESCE(:cost, cost), " +
+            "quantity = COALESCE(:quantity, quantity) WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    int updateTask(@Param("jobId") Long jobId, @Param("lineNo") int lineNo, @Param("name") String name,
+                   @Param("cost") Double cost, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_tasks WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    int deleteTask(@Param("jobId") Long jobId, @Param("lineNo") int lineNo);
+
+    @Query(value = "SELECT COALESCE(MAX(line_no), 0) + 1 FROM job_spare_parts WHERE job_id = :jobId", nativeQuery = true)
+    int nextSparePartLineNo(@Param("jobId") Long jobId);
+
+    @Query(value = "SELECT cost FROM job_spare_parts WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    Optional<Double> findSparePartCost(@Param("jobId") Long jobId, @Param("lineNo") int lineNo);
+
+    @Modifying
+    @Query(value = "INSERT INTO job_spare_parts (job_id, line_no, item_id, name, cost, quantity) " +
+            "VALUES (:jobId, :lineNo, :itemId, :name, :cost, :quantity)", nativeQuery = true)
+    int insertSparePart(@Param("jobId") Long jobId, @Param("lineNo") int lineNo, @Param("itemId") Long itemId,
+                        @Param("name") String name, @Param("cost") double cost, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE job_spare_parts SET name = COALESCE(:name, name), cost = COALESCE(:cost, cost), " +
+            "quantity = COALESCE(:quantity, quantity) WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    int updateSparePart(@Param("jobId") Long jobId, @Param("lineNo") int lineNo, @Param("name") String name,
+                        @Param("cost") Double cost, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_spare_parts WHERE job_id = :jobId AND line_no = :lineNo", nativeQuery = true)
+    int deleteSparePart(@Param("jobId") Long jobId, @Param("lineNo") int lineNo);
 }
@@ -1,9 +1,31 @@
 package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dto.StocksDto.SupplierLeadTime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface RestockRepository extends JpaRepository<Restock, Integer> {
+public interface RestockRepository extends JpaRepository<Restock, Integer>, JpaSpecificationExecutor<Restock> {
+
+    @Query("SELECT COALESCE(MAX(r.restockID), 0) FROM Restock r")
+    int findMaxRestockID();
+
+    @Query("SELECT DISTINCT r.itemID FROM Restock r WHERE r.restockStatus = :status AND r.itemID IN :itemIDs")
+    List<Integer> findItemIDsWithStatus(@Param("status") String status, @Param("itemIDs") Collection<Integer> itemIDs);
+
+    // Each restock is matched with the first delivery of its item from the same supplier on or after the day it
+    // was raised. Restocks not delivered yet are left out of the average, which is null if none were delivered.
+    @Query(value = "SELECT r.supplierid AS supplierId, AVG(DATEDIFF((SELECT MIN(si.date_added) FROM stock_in si " +
+            "WHERE si.itemid = r.itemid AND si.supplierid = r.supplierid AND si.date_added >= r.date), r.date)) " +
+            "AS leadTimeDays " +
+            "FROM restock r WHERE r.restock_status <> 'Cancelled' GROUP BY r.supplierid",
+            nativeQuery = true)
+    List<SupplierLeadTime> findSupplierLeadTimes();
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.prabath_motors.backend.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+// Optional filters for the paged stock lists; a null value means no filter and yields a null specification
+public final class StockSpecifications {
+
+    private StockSpecifications() {
+    }
+
+    public static <T> Specification<T> equalTo(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> between(String attribute, Y start, Y end) {
+        if (start == null && end == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (start == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), end);
+            }
+            if (end == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), start);
+            }
+            return cb.between(root.get(attribute), start, end);
+        };
+    }
+}
@@ -1,14 +1,84 @@
 package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryRow;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseTotals;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface Stock_InRepository extends JpaRepository<Stock_In, Integer> {
+public interface Stock_InRepository extends JpaRepository<Stock_In, Integer>, JpaSpecificationExecutor<Stock_In> {
     List<Stock_In> findByItemID(Integer itemID);
     List<Stock_In> findByItemIDAndDateAddedBetween(Integer itemID, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+    Optional<Stock_In> findTopByItemIDOrderByStockInIDDesc(Integer itemID);
+
+    @Query("SELECT COALESCE(MAX(si.stockInID), 0) FROM Stock_In si")
+    int findMaxStockInID();
+
+    String PURCHASE_HISTORY_SELECT = "SELECT new com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryRow(" +
+            "si.stockInID, si.dateAdded, si.qtyAdded, si.unitPrice, si.sellPrice, COALESCE(s.supplierName, 'Unknown')) " +
+            "FROM Stock_In si LEFT JOIN Supplier s ON s.supplierId = si.supplierID " +
+            "WHERE si.itemID = :itemID AND si.dateAdded BETWEEN :startDate AND :endDate ";
+
+    String SUPPLIER_PURCHASES_QUERY = "SELECT new com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseRow(" +
+            "si.supplierID, COALESCE(s.supplierName, 'Unknown'), COUNT(si), SUM(si.qtyAdded), " +
+            "SUM(si.qtyAdded * si.unitPrice), COUNT(DISTINCT si.itemID)) " +
+            "FROM Stock_In si LEFT JOIN Supplier s ON s.supplierId = si.supplierID " +
+            "WHERE si.dateAdded BETWEEN :startDate AND :endDate " +
+            "GROUP BY si.supplierID, s.supplierName " +
+            "ORDER BY SUM(si.qtyAdded * si.unitPrice) DESC";
+
+    // Keyset page over (dateAdded, stockInID): rows strictly after the given position, in index order
+    @Query(PURCHASE_HISTORY_SELECT +
+            "AND (si.dateAdded > :afterDate OR (si.dateAdded = :afterDate AND si.stockInID > :afterID)) " +
+            "ORDER BY si.dateAdded ASC, si.stockInID ASC")
+    List<ItemPurchaseHistoryRow> findPurchaseHistoryPage(@Param("itemID") Integer itemID,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate,
+                                                         @Param("afterDate") LocalDate afterDate,
+                                                         @Param("afterID") Integer afterID,
+                                                         Limit limit);
+
+    @Query("SELECT new com.prabath_motors.backend.dto.StocksDto.ItemPurchaseTotals(" +
+            "COUNT(si), SUM(si.qtyAdded), SUM(si.qtyAdded * si.unitPrice)) FROM Stock_In si " +
+            "WHERE si.itemID = :itemID AND si.dateAdded BETWEEN :startDate AND :endDate")
+    ItemPurchaseTotals findPurchaseTotals(@Param("itemID") Integer itemID,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    // Served by the (supplierID, dateAdded) index; supplier names are joined instead of looked up per row
+    @Query(SUPPLIER_PURCHASES_QUERY)
+    List<SupplierPurchaseRow> summarizePurchasesBySupplier(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+
+    // Cursor variants for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ItemRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUPPLIER_PURCHASES_QUERY)
+    Stream<SupplierPurchaseRow> streamPurchasesBySupplier(@Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ItemRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PURCHASE_HISTORY_SELECT + "ORDER BY si.dateAdded ASC, si.stockInID ASC")
+    Stream<ItemPurchaseHistoryRow> streamPurchaseHistory(@Param("itemID") Integer itemID,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+}
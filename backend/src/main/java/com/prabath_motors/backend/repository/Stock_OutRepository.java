@@ -1,13 +1,38 @@
 package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.StocksDto.ItemDailyUsage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface Stock_OutRepository extends JpaRepository<Stock_Out, Integer> {
+public interface Stock_OutRepository extends JpaRepository<Stock_Out, Integer>, JpaSpecificationExecutor<Stock_Out> {
     List<Stock_Out> findByDateUsedBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT MIN(so.dateUsed) FROM Stock_Out so")
+    LocalDate findEarliestDateUsed();
+
+    @Query("SELECT MAX(so.dateUsed) FROM Stock_Out so")
+    LocalDate findLatestDateUsed();
+
+    @Query("SELECT COALESCE(MAX(so.stockOutID), 0) FROM Stock_Out so")
+    int findMaxStockOutID();
+
+    // Usage per item and day in item then date order; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ItemRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.prabath_motors.backend.dto.StocksDto.ItemDailyUsage(so.itemID, so.dateUsed, SUM(so.qtyUsed)) " +
+            "FROM Stock_Out so GROUP BY so.itemID, so.dateUsed ORDER BY so.itemID, so.dateUsed")
+    Stream<ItemDailyUsage> streamDailyUsage();
 }
@@ -2,7 +2,8 @@ package com.prabath_motors.backend.repository;
 
 import com.prabath_motors.backend.dao.Stock.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Integer> {}
\ No newline at end of file
+public interface SupplierRepository extends JpaRepository<Supplier, Integer>, JpaSpecificationExecutor<Supplier> {}
\ No newline at end of file
@@ -4,6 +4,10 @@ import com.prabath_motors.backend.dao.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+
+    Optional<Vehicle> findFirstByVehicleRegistrationNo(String vehicleRegistrationNo);
 }
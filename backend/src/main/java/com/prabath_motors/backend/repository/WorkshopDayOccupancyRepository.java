@@ -0,0 +1,29 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Appointment.WorkshopDayOccupancy;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkshopDayOccupancyRepository extends JpaRepository<WorkshopDayOccupancy, LocalDate> {
+
+    // Creates the row for a day's first booking; a concurrent first booking waits for it and then finds it there
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO workshop_day_occupancy (date, bays) VALUES (:date, X'')", nativeQuery = true)
+    int insertIfMissing(@Param("date") LocalDate date);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM WorkshopDayOccupancy o WHERE o.date = :date")
+    Optional<WorkshopDayOccupancy> findByIdForUpdate(@Param("date") LocalDate date);
+
+    List<WorkshopDayOccupancy> findByDateBetween(LocalDate startDate, LocalDate endDate);
+}
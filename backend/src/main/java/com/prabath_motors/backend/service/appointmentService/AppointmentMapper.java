@@ -19,6 +19,7 @@ public class AppointmentMapper {
         appointment.setDate(dto.getDate());
         appointment.setTime(dto.getTime());
         appointment.setMileage(dto.getMileage());
+        appointment.setBay(dto.getBay());
         
         return appointment;
     }
@@ -34,6 +35,7 @@ public class AppointmentMapper {
         dto.setDate(entity.getDate());
         dto.setTime(entity.getTime());
         dto.setMileage(entity.getMileage());
+        dto.setBay(entity.getBay());
         
         return dto;
     }
@@ -1,7 +1,9 @@
 package com.prabath_motors.backend.service.appointmentService;
 
 import com.prabath_motors.backend.dao.Appointment.Appointment;
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +14,5 @@ public interface AppointmentService {
     Optional<Appointment> getAppointmentById(Long id);
     Appointment updateAppointment(Long id, Appointment appointmentDetails);
     void deleteAppointment(Long id);
+    List<WorkshopDaySlots> getFreeSlots(LocalDate startDate, LocalDate endDate);
 }
@@ -1,11 +1,15 @@
 package com.prabath_motors.backend.service.appointmentService;
 
 import com.prabath_motors.backend.dao.Appointment.Appointment;
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
 import com.prabath_motors.backend.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,8 +18,14 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private WorkshopSlotService workshopSlotService;
+
     @Override
+    @Transactional
     public Appointment saveAppointment(Appointment appointment) {
+        // Rejected with an IllegalOperationException when no bay is free at that time
+        appointment.setBay(workshopSlotService.reserve(appointment.getDate(), appointment.getTime(), appointment.getBay()));
         return appointmentRepository.save(appointment);
     }
 
@@ -30,8 +40,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional
     public Appointment updateAppointment(Long id, Appointment appointmentDetails) {
         return appointmentRepository.findById(id).map(appointment -> {
+            moveBooking(appointment, appointmentDetails);
             appointment.setDate(appointmentDetails.getDate());
             appointment.setTime(appointmentDetails.getTime());
             appointment.setMileage((appointmentDetails.getMileage()));
@@ -39,11 +51,38 @@ public class AppointmentServiceImpl implements AppointmentService {
         }).orElseThrow(() -> new RuntimeException("Appointment not found"));
     }
 
+    // Day rows are always locked earliest date first, so two appointments swapping days cannot deadlock
+    private void moveBooking(Appointment appointment, Appointment moved) {
+        // Other edits leave the booking alone, so appointments outside the current hours stay editable
+        if (Objects.equals(moved.getDate(), appointment.getDate()) && Objects.equals(moved.getTime(), appointment.getTime())
+                && (moved.getBay() == null || moved.getBay().equals(appointment.getBay()))) {
+            return;
+        }
+        LocalDate from = appointment.getDate();
+        int bay;
+        if (moved.getDate().isBefore(from)) {
+            bay = workshopSlotService.reserve(moved.getDate(), moved.getTime(), moved.getBay());
+            workshopSlotService.release(from, appointment.getTime(), appointment.getBay());
+        } else {
+            workshopSlotService.release(from, appointment.getTime(), appointment.getBay());
+            bay = workshopSlotService.reserve(moved.getDate(), moved.getTime(), moved.getBay());
+        }
+        appointment.setBay(bay);
+    }
+
     @Override
+    @Transactional
     public void deleteAppointment(Long id) {
+        appointmentRepository.findById(id).ifPresent(appointment ->
+                workshopSlotService.release(appointment.getDate(), appointment.getTime(), appointment.getBay()));
         appointmentRepository.deleteById(id);
     }
 
+    @Override
+    public List<WorkshopDaySlots> getFreeSlots(LocalDate startDate, LocalDate endDate) {
+        return workshopSlotService.findFreeSlots(startDate, endDate);
+    }
+
 }
 
 
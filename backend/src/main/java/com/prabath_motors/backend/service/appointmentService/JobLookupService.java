@@ -0,0 +1,11 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.prabath_motors.backend.dto.JobSummary;
+
+import java.util.Collection;
+
+public interface JobLookupService {
+
+    JobSummary findByJobId(String jobId);
+    void evict(Collection<Long> ids);
+}
@@ -0,0 +1,68 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prabath_motors.backend.dto.JobSummary;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Read-through cache of job summaries by business job ID, for the workshop tablets that look jobs up
+ * by the code on the job card. Unknown IDs are not cached, so a newly created job is found right away.
+ */
+@Service
+public class JobLookupServiceImpl implements JobLookupService {
+
+    private final JobRepository jobRepo;
+    private final Cache<String, JobSummary> cache;
+
+    @Autowired
+    public JobLookupServiceImpl(
+            JobRepository jobRepo,
+            @Value("${prabath.job.lookup.cache.maxEntries:1000}") long maxEntries,
+            @Value("${prabath.job.lookup.cache.ttlMinutes:10}") long ttlMinutes) {
+        this.jobRepo = jobRepo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public JobSummary findByJobId(String jobId) {
+        JobSummary summary = cache.get(jobId, key -> jobRepo.findSummaryByJobId(key).orElse(null));
+        if (summary == null) {
+            throw new ResourceNotFoundException("Job not found with job ID : " + jobId);
+        }
+        return summary;
+    }
+
+    // Evicts by primary key, which also catches an entry cached under a job ID that is being changed
+    @Override
+    public void evict(Collection<Long> ids) {
+        Set<Long> evicted = Set.copyOf(ids);
+        evictNow(evicted);
+        // A lookup running before the commit could cache the old row again, so evict once more afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(evicted);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Set<Long> ids) {
+        cache.asMap().values().removeIf(summary -> ids.contains(summary.getId()));
+    }
+}
@@ -1,15 +1,29 @@
 package com.prabath_motors.backend.service.appointmentService;
 
 import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.NamedCostItem;
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.JobBulkCloseResult;
+import com.prabath_motors.backend.dto.JobLineItemPatch;
+import com.prabath_motors.backend.dto.JobPageDTO;
 
 import java.util.List;
 
 public interface JobService {
 
+    enum LineItems { TASKS, SPARE_PARTS }
+
     Job createJob(Job job);
     Job updateJob(Long jobId, Job updatedJob);
+    Job addLineItem(Long id, LineItems lines, NamedCostItem item);
+    Job updateLineItem(Long id, LineItems lines, int lineNo, JobLineItemPatch patch);
+    Job removeLineItem(Long id, LineItems lines, int lineNo);
     List<Job> getAllOngoingJobs();
     List<Job> getAllDoneJobs();
+    JobPageDTO getJobsByStatus(String status, int page, int size);
     void markJobAsDone(Long id);
+    boolean changeStatus(Long id, String status);
+    JobBulkCloseResult markJobsAsDone(List<Long> ids);
+    List<Stock_Out> consumeSpareParts(Long id);
     void deleteJob(Long id);
 }
@@ -1,18 +1,68 @@
 package com.prabath_motors.backend.service.appointmentService;
 
 import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.JobStatus;
+import com.prabath_motors.backend.dao.Appointment.NamedCostItem;
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.JobBulkCloseResult;
+import com.prabath_motors.backend.dto.JobLineItemPatch;
+import com.prabath_motors.backend.dto.JobPageDTO;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.ItemRepository;
 import com.prabath_motors.backend.repository.JobRepository;
+import com.prabath_motors.backend.repository.VehicleRepository;
+import com.prabath_motors.backend.service.stockService.Stock_OutService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class JobServiceImpl implements JobService {
+    private static final Logger logger = LoggerFactory.getLogger(JobServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
     private JobRepository jobRepo;
 
+    @Autowired
+    private VehicleRepository vehicleRepo;
+
+    @Autowired
+    private ItemRepository itemRepo;
+
+    @Autowired
+    private Stock_OutService stockOutService;
+
+    @Autowired
+    private JobLookupService jobLookupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     public double calculateTotalCost(Job job) {
         double taskCost = job.getTasks().stream()
                 .mapToDouble(item -> item.getCost())
@@ -27,7 +77,12 @@ public class JobServiceImpl implements JobService {
 
     @Override
     public Job createJob(Job job) {
-        job.setStatus("Ongoing");
+        if (jobRepo.existsByJobId(job.getJobId())) {
+            throw new IllegalOperationException("Job ID " + job.getJobId() + " is already in use");
+        }
+        job.setStatus(JobStatus.ONGOING);
+        numberLines(job.getTasks());
+        numberLines(job.getSpareParts());
         job.setTotalCost(calculateTotalCost(job));
         return jobRepo.save(job);
     }
@@ -35,41 +90,402 @@ public class JobServiceImpl implements JobService {
 
 
     @Override
+    @Transactional
     public Job updateJob(Long id, Job updatedJob) {
-        Job existing = jobRepo.findById(id).orElseThrow();
+        // Locked so the job cannot have its parts consumed between the check below and the writes
+        Job existing = jobRepo.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID : " + id));
+        if (jobRepo.existsByJobIdAndIdNot(updatedJob.getJobId(), id)) {
+            throw new IllegalOperationException("Job ID " + updatedJob.getJobId() + " is already in use");
+        }
+        // A missing list leaves those lines as they are
+        List<NamedCostItem> tasks = updatedJob.getTasks() == null ? existing.getTasks() : numberLines(updatedJob.getTasks());
+        List<NamedCostItem> spareParts = updatedJob.getSpareParts() == null
+                ? existing.getSpareParts() : numberLines(updatedJob.getSpareParts());
+        LineDiff taskChanges = diffLines(existing.getTasks(), tasks);
+        LineDiff sparePartChanges = diffLines(existing.getSpareParts(), spareParts);
+        if (!sparePartChanges.isEmpty() && existing.isSparePartsConsumed()) {
+            throw new IllegalOperationException("Spare parts of job " + id + " were already taken out of stock");
+        }
+
+        jobLookupService.evict(List.of(id));
         existing.setJobId(updatedJob.getJobId());
-        existing.setTasks(updatedJob.getTasks());
-        existing.setSpareParts(updatedJob.getSpareParts());
         existing.setServiceSection(updatedJob.getServiceSection());
         existing.setAssignedEmployee(updatedJob.getAssignedEmployee());
-        existing.setTotalCost(calculateTotalCost(updatedJob));
-        return jobRepo.save(existing);
+        // Written before the line statements, since the total cost update below clears the persistence context
+        jobRepo.saveAndFlush(existing);
+
+        writeLineChanges(id, LineItems.TASKS, taskChanges);
+        writeLineChanges(id, LineItems.SPARE_PARTS, sparePartChanges);
+        return applyCostChange(id, sumCosts(tasks) + sumCosts(spareParts) - existing.getTotalCost());
+    }
+
+    private record LineDiff(List<Integer> removed, List<NamedCostItem> changed, List<NamedCostItem> added) {
+        boolean isEmpty() {
+            return removed.isEmpty() && changed.isEmpty() && added.isEmpty();
+        }
+    }
+
+    // Matches the lines by lineNo. Saving a replaced collection would make Hibernate delete and reinsert every
+    // line, so only the lines that differ are written. A line whose itemId changed or whose name was cleared
+    // cannot be updated in place, and is removed and added again under the same lineNo.
+    private static LineDiff diffLines(List<NamedCostItem> current, List<NamedCostItem> updated) {
+        Map<Integer, NamedCostItem> remaining = new HashMap<>();
+        if (current != null) {
+            current.forEach(line -> remaining.put(line.getLineNo(), line));
+        }
+        List<Integer> removed = new ArrayList<>();
+        List<NamedCostItem> changed = new ArrayList<>();
+        List<NamedCostItem> added = new ArrayList<>();
+        if (updated != null) {
+            for (NamedCostItem line : updated) {
+                NamedCostItem old = remaining.remove(line.getLineNo());
+                if (old == null) {
+                    added.add(line);
+                } else if (!old.equals(line)) {
+                    if (Objects.equals(old.getItemId(), line.getItemId()) && line.getName() != null) {
+                        changed.add(line);
+                    } else {
+                        removed.add(line.getLineNo());
+                        added.add(line);
+                    }
+                }
+            }
+        }
+        removed.addAll(remaining.keySet());
+        return new LineDiff(removed, changed, added);
+    }
+
+    // Removals go first so a line added back under the same lineNo does not collide with the old row
+    private void writeLineChanges(Long id, LineItems lines, LineDiff diff) {
+        for (int lineNo : diff.removed()) {
+            if (lines == LineItems.TASKS) {
+                jobRepo.deleteTask(id, lineNo);
+            } else {
+                jobRepo.deleteSparePart(id, lineNo);
+            }
+        }
+        for (NamedCostItem line : diff.changed()) {
+            if (lines == LineItems.TASKS) {
+                jobRepo.updateTask(id, line.getLineNo(), line.getName(), line.getCost(), line.getQuantity());
+            } else {
+                jobRepo.updateSparePart(id, line.getLineNo(), line.getName(), line.getCost(), line.getQuantity());
+            }
+        }
+        for (NamedCostItem line : diff.added()) {
+            if (lines == LineItems.TASKS) {
+                jobRepo.insertTask(id, line.getLineNo(), line.getItemId(), line.getName(), line.getCost(), line.getQuantity());
+            } else {
+                jobRepo.insertSparePart(id, line.getLineNo(), line.getItemId(), line.getName(), line.getCost(), line.getQuantity());
+            }
+        }
+    }
+
+    private static double sumCosts(List<NamedCostItem> lines) {
+        return lines == null ? 0 : lines.stream().mapToDouble(NamedCostItem::getCost).sum();
+    }
+
+    // Keeps the lineNo a client sent back with a line and gives new or duplicated lines the next free numbers
+    private static List<NamedCostItem> numberLines(List<NamedCostItem> lines) {
+        if (lines == null) {
+            return null;
+        }
+        int next = lines.stream().map(NamedCostItem::getLineNo).filter(Objects::nonNull)
+                .mapToInt(Integer::intValue).max().orElse(0);
+        Set<Integer> used = new HashSet<>();
+        for (NamedCostItem line : lines) {
+            if (line.getLineNo() == null || line.getLineNo() < 1 || !used.add(line.getLineNo())) {
+                line.setLineNo(++next);
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    @Transactional
+    public Job addLineItem(Long id, LineItems lines, NamedCostItem item) {
+        lockForLineItemChange(id, lines);
+        if (item == null) {
+            throw new IllegalOperationException("A job line item is required");
+        }
+        if (item.getCost() < 0 || item.getQuantity() < 0) {
+            throw new IllegalOperationException("Cost and quantity of a job line item cannot be negative");
+        }
+
+        if (lines == LineItems.TASKS) {
+            jobRepo.insertTask(id, jobRepo.nextTaskLineNo(id), item.getItemId(), item.getName(), item.getCost(), item.getQuantity());
+        } else {
+            jobRepo.insertSparePart(id, jobRepo.nextSparePartLineNo(id), item.getItemId(), item.getName(), item.getCost(), item.getQuantity());
+        }
+        return applyCostChange(id, item.getCost());
+    }
+
+    @Override
+    @Transactional
+    public Job updateLineItem(Long id, LineItems lines, int lineNo, JobLineItemPatch patch) {
+        lockForLineItemChange(id, lines);
+        double cost = findLineCost(id, lines, lineNo);
+
+        if (lines == LineItems.TASKS) {
+            jobRepo.updateTask(id, lineNo, patch.getName(), patch.getCost(), patch.getQuantity());
+        } else {
+            jobRepo.updateSparePart(id, lineNo, patch.getName(), patch.getCost(), patch.getQuantity());
+        }
+        return applyCostChange(id, patch.getCost() == null ? 0 : patch.getCost() - cost);
+    }
+
+    @Override
+    @Transactional
+    public Job removeLineItem(Long id, LineItems lines, int lineNo) {
+        lockForLineItemChange(id, lines);
+        double cost = findLineCost(id, lines, lineNo);
+
+        if (lines == LineItems.TASKS) {
+            jobRepo.deleteTask(id, lineNo);
+        } else {
+            jobRepo.deleteSparePart(id, lineNo);
+        }
+        return applyCostChange(id, -cost);
+    }
+
+    // Locks the job row so concurrent edits of its line items and total cost are applied one after another
+    private void lockForLineItemChange(Long id, LineItems lines) {
+        Job job = jobRepo.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID : " + id));
+        if (lines == LineItems.SPARE_PARTS && job.isSparePartsConsumed()) {
+            throw new IllegalOperationException("Spare parts of job " + id + " were already taken out of stock");
+        }
+    }
+
+    private double findLineCost(Long id, LineItems lines, int lineNo) {
+        Optional<Double> cost = lines == LineItems.TASKS
+                ? jobRepo.findTaskCost(id, lineNo)
+                : jobRepo.findSparePartCost(id, lineNo);
+        return cost.orElseThrow(() -> new ResourceNotFoundException("Line " + lineNo + " is not on job " + id));
+    }
+
+    // Moves the total by the change instead of re-summing every line; also clears the now stale job from the context
+    private Job applyCostChange(Long id, double delta) {
+        jobRepo.addToTotalCost(id, delta);
+        jobLookupService.evict(List.of(id));
+        return jobRepo.findById(id).orElseThrow();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Job> getAllOngoingJobs() {
-        return jobRepo.findAll().stream()
-                .filter(job -> "Ongoing".equals(job.getStatus()))
-                .toList();
+        return loadWithLineItems(jobRepo.findIdsByStatus(JobStatus.ONGOING, Pageable.unpaged()).getContent());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Job> getAllDoneJobs() {
-        return jobRepo.findAll().stream()
-                .filter(job -> "Done".equals(job.getStatus()))
-                .toList();
+        return loadWithLineItems(jobRepo.findIdsByStatus(JobStatus.DONE, Pageable.unpaged()).getContent());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public JobPageDTO getJobsByStatus(String status, int page, int size) {
+        JobStatus jobStatus = parseStatus(status);
+        Page<Long> ids = jobRepo.findIdsByStatus(jobStatus, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+        return new JobPageDTO(loadWithLineItems(ids.getContent()), ids.getNumber(), ids.getSize(),
+                ids.getTotalElements(), ids.getTotalPages());
+    }
+
+    // Three queries however many jobs: the ids, then the jobs with their tasks, then their spare parts
+    private List<Job> loadWithLineItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Job> jobs = jobRepo.findWithTasksByIdIn(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity(), (first, second) -> first));
+        jobRepo.findWithSparePartsByIdIn(ids);
+        return ids.stream().map(jobs::get).filter(Objects::nonNull).toList();
+    }
+
+    private static JobStatus parseStatus(String status) {
+        JobStatus jobStatus = JobStatus.fromLabel(status);
+        if (jobStatus == null) {
+            throw new IllegalOperationException("Unknown job status: " + status);
+        }
+        return jobStatus;
     }
 
     @Override
+    @Transactional
     public void markJobAsDone(Long id) {
-        Job job = jobRepo.findById(id).orElseThrow();
-        job.setStatus("Done");
-        jobRepo.save(job);
+        changeStatus(id, JobStatus.DONE);
+    }
+
+    @Override
+    @Transactional
+    public boolean changeStatus(Long id, String status) {
+        return changeStatus(id, parseStatus(status));
+    }
+
+    // One conditional UPDATE; when two requests race, the row lock lets the first one through and the second sees 0 rows
+    private boolean changeStatus(Long id, JobStatus to) {
+        JobStatus from = to.getReachedFrom();
+        if (from == null) {
+            throw new IllegalOperationException("Jobs cannot be moved back to " + to);
+        }
+        if (jobRepo.updateStatus(id, from, to) == 0) {
+            JobStatus current = jobRepo.findStatusById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID : " + id));
+            if (current == to) {
+                // Already there, e.g. a retried request
+                return false;
+            }
+            throw new IllegalOperationException("Job " + id + " is " + current + " and cannot be moved to " + to);
+        }
+        jobLookupService.evict(List.of(id));
+        if (to == JobStatus.DONE) {
+            consumeSpareParts(List.of(id));
+        }
+        return true;
+    }
+
+    // Not transactional itself: every job is closed in a transaction of its own, so a job whose parts cannot be
+    // consumed is rolled back and reported without undoing the others
+    @Override
+    public JobBulkCloseResult markJobsAsDone(List<Long> ids) {
+        JobBulkCloseResult result = new JobBulkCloseResult();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        TransactionTemplate perJob = new TransactionTemplate(transactionManager);
+        perJob.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Set<Long> distinct = new TreeSet<>(ids);
+        for (Long id : distinct) {
+            try {
+                if (Boolean.TRUE.equals(perJob.execute(status -> changeStatus(id, JobStatus.DONE)))) {
+                    result.getClosed().add(id);
+                } else {
+                    result.getAlreadyDone().add(id);
+                }
+            } catch (IllegalOperationException | ResourceNotFoundException e) {
+                result.getFailed().add(new JobBulkCloseResult.JobError(id, e.getMessage()));
+            } catch (RuntimeException e) {
+                logger.error("Could not close job {}", id, e);
+                result.getFailed().add(new JobBulkCloseResult.JobError(id, "Unexpected error: " + e.getMessage()));
+            }
+        }
+        logger.info("Closed {} of {} jobs, {} failed", result.getClosed().size(), distinct.size(), result.getFailed().size());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<Stock_Out> consumeSpareParts(Long id) {
+        if (!jobRepo.existsById(id)) {
+            throw new ResourceNotFoundException("Job not found with ID : " + id);
+        }
+        return consumeSpareParts(List.of(id));
+    }
+
+    private record PendingParts(Long id, String registrationNo, List<NamedCostItem> parts) {
+    }
+
+    // Writes the spare parts of the jobs out as one batch of Stock_Out rows, at most once per job.
+    // A job is only closed if all of its parts can be taken out of stock: every problem (unregistered vehicle,
+    // quantity below 1, no price, an itemId that is missing or names another item, not enough stock) is
+    // collected first and reported as one 400, and the status change is rolled back with it so the job stays
+    // Ongoing until the lines are corrected. Parts without an itemId are free-text lines that never came from
+    // stock and are not consumed.
+    private List<Stock_Out> consumeSpareParts(List<Long> ids) {
+        // Read everything needed before the flag updates clear the persistence context; tasks are not loaded
+        List<PendingParts> pending = jobRepo.findWithSparePartsByIdIn(ids).stream()
+                .filter(job -> !job.isSparePartsConsumed())
+                .map(job -> new PendingParts(job.getId(), job.getVehicleRegistrationNumber(),
+                        job.getSpareParts() == null ? List.of() : job.getSpareParts().stream()
+                                .filter(part -> part.getItemId() != null)
+                                .toList()))
+                .toList();
+        Map<String, Integer> vehicleIDs = checkConsumable(pending);
+
+        LocalDate today = LocalDate.now();
+        List<Stock_Out> stockOuts = new ArrayList<>();
+        for (PendingParts job : pending) {
+            Long id = job.id();
+            if (jobRepo.markSparePartsConsumed(id) == 0) {
+                logger.info("Spare parts of job {} were already consumed", id);
+                continue;
+            }
+            for (NamedCostItem part : job.parts()) {
+                Stock_Out stockOut = new Stock_Out();
+                stockOut.setItemID(Math.toIntExact(part.getItemId()));
+                stockOut.setJobID(Math.toIntExact(id));
+                stockOut.setVehicleID(vehicleIDs.get(job.registrationNo()));
+                stockOut.setQtyUsed(part.getQuantity());
+                // The job screens store the item's unit price as the part cost
+                stockOut.setSoldPrice(part.getCost());
+                stockOut.setDateUsed(today);
+                stockOuts.add(stockOut);
+            }
+        }
+        return stockOuts.isEmpty() ? List.of() : stockOutService.SaveStockOuts(stockOuts);
+    }
+
+    // Returns the vehicle id of each registration number, or fails with every problem found in the parts
+    private Map<String, Integer> checkConsumable(List<PendingParts> pending) {
+        List<String> problems = new ArrayList<>();
+        Map<String, Integer> vehicleIDs = new HashMap<>();
+        Map<Integer, Integer> qtyByItem = new TreeMap<>();
+        for (PendingParts job : pending) {
+            if (job.parts().isEmpty()) {
+                continue;
+            }
+            if (!vehicleIDs.containsKey(job.registrationNo())) {
+                vehicleRepo.findFirstByVehicleRegistrationNo(job.registrationNo())
+                        .ifPresentOrElse(vehicle -> vehicleIDs.put(job.registrationNo(), vehicle.getVehicleId()),
+                                () -> problems.add("Job " + job.id() + ": no vehicle registered with number " + job.registrationNo()));
+            }
+            for (NamedCostItem part : job.parts()) {
+                if (part.getQuantity() < 1) {
+                    problems.add("Job " + job.id() + ": quantity of '" + part.getName() + "' must be at least 1");
+                }
+                if (part.getCost() <= 0) {
+                    problems.add("Job " + job.id() + ": '" + part.getName() + "' needs a price greater than 0");
+                }
+                qtyByItem.merge(Math.toIntExact(part.getItemId()), Math.max(part.getQuantity(), 0), Integer::sum);
+            }
+        }
+
+        // Read without locks; the conditional stock update remains the final check against concurrent stock-outs
+        Map<Integer, Item> items = itemRepo.findAllById(qtyByItem.keySet()).stream()
+                .collect(Collectors.toMap(Item::getItemID, Function.identity()));
+        // Older job screens stored made-up ids for parts typed in by hand; those must not take stock of a real item
+        for (PendingParts job : pending) {
+            for (NamedCostItem part : job.parts()) {
+                Item item = items.get(Math.toIntExact(part.getItemId()));
+                if (item != null && !sameName(item.getItemName(), part.getName())) {
+                    problems.add("Job " + job.id() + ": '" + part.getName() + "' does not match item "
+                            + item.getItemID() + " (" + item.getItemName() + ")");
+                }
+            }
+        }
+        qtyByItem.forEach((itemID, qty) -> {
+            Item item = items.get(itemID);
+            if (item == null) {
+                problems.add("Item " + itemID + " no longer exists");
+            } else if (item.getQtyAvailable() < qty) {
+                problems.add("Not enough stock of " + item.getItemName() + ": " + qty + " needed, "
+                        + item.getQtyAvailable() + " available");
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new IllegalOperationException("Spare parts cannot be taken out of stock: " + String.join("; ", problems));
+        }
+        return vehicleIDs;
+    }
 
+    private static boolean sameName(String itemName, String partName) {
+        return itemName != null && partName != null && itemName.trim().equalsIgnoreCase(partName.trim());
     }
 
     @Override
     public void deleteJob(Long id) {
         jobRepo.deleteById(id);
+        jobLookupService.evict(List.of(id));
     }
 }
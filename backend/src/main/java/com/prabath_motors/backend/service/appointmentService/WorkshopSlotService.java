@@ -0,0 +1,15 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface WorkshopSlotService {
+
+    int reserve(LocalDate date, LocalTime time, Integer preferredBay);
+    void release(LocalDate date, LocalTime time, Integer bay);
+    List<WorkshopDaySlots> findFreeSlots(LocalDate startDate, LocalDate endDate);
+    int assignMissingBays();
+}
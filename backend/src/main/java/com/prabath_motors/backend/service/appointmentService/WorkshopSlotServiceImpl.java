@@ -0,0 +1,192 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.prabath_motors.backend.dao.Appointment.Appointment;
+import com.prabath_motors.backend.dao.Appointment.WorkshopDayOccupancy;
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.repository.AppointmentRepository;
+import com.prabath_motors.backend.repository.WorkshopDayOccupancyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Books appointments into workshop bays. The opening hours are cut into fixed slots and every day keeps one
+ * bitmask of booked slots per bay, so a booking is checked and taken under a lock on that single day row,
+ * and free slots for a range of days come from one small row per day instead of the appointments themselves.
+ */
+@Service
+public class WorkshopSlotServiceImpl implements WorkshopSlotService {
+    private static final Logger logger = LoggerFactory.getLogger(WorkshopSlotServiceImpl.class);
+    private static final int MAX_RANGE_DAYS = 62;
+
+    private final WorkshopDayOccupancyRepository occupancyRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final int bays;
+    private final int slotMinutes;
+    private final int slotsPerAppointment;
+    private final LocalTime openTime;
+    private final LocalTime closeTime;
+    private final int daySlots;
+
+    @Autowired
+    public WorkshopSlotServiceImpl(WorkshopDayOccupancyRepository occupancyRepository,
+                                   AppointmentRepository appointmentRepository,
+                                   @Value("${prabath.workshop.bays:3}") int bays,
+                                   @Value("${prabath.workshop.slotMinutes:60}") int slotMinutes,
+                                   @Value("${prabath.workshop.slotsPerAppointment:1}") int slotsPerAppointment,
+                                   @Value("${prabath.workshop.openTime:08:00}") String openTime,
+                                   @Value("${prabath.workshop.closeTime:17:00}") String closeTime) {
+        this.occupancyRepository = occupancyRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.bays = bays;
+        this.slotMinutes = slotMinutes;
+        this.slotsPerAppointment = slotsPerAppointment;
+        this.openTime = LocalTime.parse(openTime);
+        this.closeTime = LocalTime.parse(closeTime);
+        this.daySlots = slotMinutes > 0 ? (int) (Duration.between(this.openTime, this.closeTime).toMinutes() / slotMinutes) : 0;
+
+        if (bays < 1 || bays > WorkshopDayOccupancy.MAX_BAYS) {
+            throw new IllegalStateException("prabath.workshop.bays must be between 1 and " + WorkshopDayOccupancy.MAX_BAYS);
+        }
+        // One long per bay holds the whole day
+        if (daySlots < 1 || daySlots > Long.SIZE) {
+            throw new IllegalStateException("The workshop day must have between 1 and " + Long.SIZE + " slots, not " + daySlots);
+        }
+        if (slotsPerAppointment < 1 || slotsPerAppointment > daySlots) {
+            throw new IllegalStateException("prabath.workshop.slotsPerAppointment must be between 1 and " + daySlots);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int reserve(LocalDate date, LocalTime time, Integer preferredBay) {
+        long mask = slotMask(time);
+        if (mask == 0) {
+            throw new IllegalOperationException("Appointments must start between " + openTime + " and "
+                    + closeTime.minusMinutes((long) slotsPerAppointment * slotMinutes));
+        }
+        if (preferredBay != null && (preferredBay < 1 || preferredBay > bays)) {
+            throw new IllegalOperationException("Bay must be between 1 and " + bays);
+        }
+
+        WorkshopDayOccupancy day = lockDay(date);
+        for (int bay = 1; bay <= bays; bay++) {
+            if (preferredBay != null && bay != preferredBay) {
+                continue;
+            }
+            long booked = day.getBay(bay - 1);
+            if ((booked & mask) == 0) {
+                day.setBay(bay - 1, booked | mask);
+                return bay;
+            }
+        }
+        throw new IllegalOperationException(preferredBay == null
+                ? "All " + bays + " bays are booked on " + date + " at " + time
+                : "Bay " + preferredBay + " is booked on " + date + " at " + time);
+    }
+
+    @Override
+    @Transactional
+    public void release(LocalDate date, LocalTime time, Integer bay) {
+        long mask = slotMask(time);
+        // Appointments booked before bays existed, or outside the current hours, never held a slot
+        if (bay == null || bay < 1 || bay > bays || mask == 0) {
+            return;
+        }
+        WorkshopDayOccupancy day = lockDay(date);
+        day.setBay(bay - 1, day.getBay(bay - 1) & ~mask);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WorkshopDaySlots> findFreeSlots(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalOperationException("A start date on or before the end date is required");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalOperationException("Free slots can be listed for at most " + MAX_RANGE_DAYS + " days at a time");
+        }
+
+        Map<LocalDate, WorkshopDayOccupancy> occupancy = occupancyRepository.findByDateBetween(startDate, endDate).stream()
+                .collect(Collectors.toMap(WorkshopDayOccupancy::getDate, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<WorkshopDaySlots> result = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            WorkshopDayOccupancy day = occupancy.get(date);
+            List<WorkshopDaySlots.FreeSlot> slots = new ArrayList<>();
+            for (int first = 0; first + slotsPerAppointment <= daySlots; first++) {
+                LocalTime time = openTime.plusMinutes((long) first * slotMinutes);
+                if (LocalDateTime.of(date, time).isBefore(now)) {
+                    continue;
+                }
+                long mask = slotMask(time);
+                int freeBays = 0;
+                for (int bay = 0; bay < bays; bay++) {
+                    if (day == null || (day.getBay(bay) & mask) == 0) {
+                        freeBays++;
+                    }
+                }
+                if (freeBays > 0) {
+                    slots.add(new WorkshopDaySlots.FreeSlot(time, freeBays));
+                }
+            }
+            result.add(new WorkshopDaySlots(date, slots));
+        }
+        return result;
+    }
+
+    // Books the upcoming appointments made before bays were tracked; ones that no longer fit are left unassigned
+    @Override
+    @Transactional
+    public int assignMissingBays() {
+        int assigned = 0;
+        for (Appointment appointment : appointmentRepository.findByBayIsNullAndDateGreaterThanEqualOrderByIdAsc(LocalDate.now())) {
+            try {
+                appointment.setBay(reserve(appointment.getDate(), appointment.getTime(), null));
+                assigned++;
+            } catch (IllegalOperationException e) {
+                logger.warn("Appointment {} could not be given a bay: {}", appointment.getId(), e.getMessage());
+            }
+        }
+        return assigned;
+    }
+
+    private WorkshopDayOccupancy lockDay(LocalDate date) {
+        occupancyRepository.insertIfMissing(date);
+        return occupancyRepository.findByIdForUpdate(date).orElseThrow();
+    }
+
+    // Every slot the appointment overlaps, from the one it starts in to the one its end falls in, so a start
+    // between two slots takes both; 0 if it starts before opening or ends after closing
+    private long slotMask(LocalTime time) {
+        if (time == null || time.isBefore(openTime)) {
+            return 0;
+        }
+        long slotSeconds = slotMinutes * 60L;
+        long start = Duration.between(openTime, time).getSeconds();
+        long end = start + slotsPerAppointment * slotSeconds;
+        int first = (int) (start / slotSeconds);
+        int last = (int) ((end + slotSeconds - 1) / slotSeconds);
+        if (last > daySlots) {
+            return 0;
+        }
+        int span = last - first;
+        return (span == Long.SIZE ? -1L : (1L << span) - 1) << first;
+    }
+}
@@ -0,0 +1,59 @@
+package com.prabath_motors.backend.service.reportJobService;
+
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobResponse;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+// In-memory state of one submitted report; updated only by the thread running it
+@Getter
+class ReportJob {
+    private final String id;
+    private final String type;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<ReportJob> completion = new CompletableFuture<>();
+
+    private volatile ReportJobStatus status = ReportJobStatus.PENDING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile Object result;
+    private volatile String error;
+
+    ReportJob(String id, String type) {
+        this.id = id;
+        this.type = type;
+    }
+
+    void markRunning() {
+        startedAt = LocalDateTime.now();
+        status = ReportJobStatus.RUNNING;
+    }
+
+    void markCompleted(Object result, long retentionMinutes) {
+        this.result = result;
+        finish(ReportJobStatus.COMPLETED, retentionMinutes);
+    }
+
+    void markFailed(String error, long retentionMinutes) {
+        this.error = error;
+        finish(ReportJobStatus.FAILED, retentionMinutes);
+    }
+
+    private void finish(ReportJobStatus finalStatus, long retentionMinutes) {
+        completedAt = LocalDateTime.now();
+        expiresAt = completedAt.plusMinutes(retentionMinutes);
+        status = finalStatus;
+        completion.complete(this);
+    }
+
+    boolean isFinished() {
+        return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+    }
+
+    ReportJobResponse toResponse() {
+        return new ReportJobResponse(id, type, status, submittedAt, startedAt, completedAt, expiresAt, error);
+    }
+}
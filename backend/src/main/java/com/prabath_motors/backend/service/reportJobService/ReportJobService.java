@@ -0,0 +1,13 @@
+package com.prabath_motors.backend.service.reportJobService;
+
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobRequest;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface ReportJobService {
+    ReportJobResponse submitJob(ReportJobRequest request);
+    ReportJobResponse getJob(String jobId);
+    CompletableFuture<ReportJobResponse> awaitJob(String jobId, long waitMs);
+    Object getJobResult(String jobId);
+}
@@ -0,0 +1,233 @@
+package com.prabath_motors.backend.service.reportJobService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobRequest;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobResponse;
+import com.prabath_motors.backend.dto.ReportJobDto.ReportJobStatus;
+import com.prabath_motors.backend.dto.StocksDto.DateRangeRequest;
+import com.prabath_motors.backend.dto.UtilityDto.ReportRequestDTO;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.service.stockService.ReportService.StockReportService;
+import com.prabath_motors.backend.service.utilityService.UtilityReportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    // Upper bound for a single long-poll so a client cannot park a request indefinitely
+    private static final long MAX_WAIT_MS = 60_000;
+
+    private final StockReportService stockReportService;
+    private final UtilityReportService utilityReportService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> typePermits = new ConcurrentHashMap<>();
+    private final AtomicInteger unfinishedJobs = new AtomicInteger();
+    // Ids of finished jobs, oldest first; guarded by itself
+    private final Deque<String> finishedJobs = new ArrayDeque<>();
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-job-", 0).factory());
+
+    private final Semaphore runningPermits;
+    private final int maxConcurrentPerType;
+    private final int maxQueuedJobs;
+    private final long retentionMinutes;
+    private final int maxRetainedJobs;
+
+    @Autowired
+    public ReportJobServiceImpl(
+            StockReportService stockReportService,
+            UtilityReportService utilityReportService,
+            ObjectMapper objectMapper,
+            @Value("${prabath.report.jobs.maxConcurrent:6}") int maxConcurrent,
+            @Value("${prabath.report.jobs.maxConcurrentPerType:2}") int maxConcurrentPerType,
+            @Value("${prabath.report.jobs.maxQueued:100}") int maxQueuedJobs,
+            @Value("${prabath.report.jobs.retentionMinutes:60}") long retentionMinutes,
+            @Value("${prabath.report.jobs.maxRetained:50}") int maxRetainedJobs) {
+        this.stockReportService = stockReportService;
+        this.utilityReportService = utilityReportService;
+        this.objectMapper = objectMapper;
+        // Keep below the connection pool size so report jobs cannot starve CRUD requests of connections
+        this.runningPermits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrentPerType = maxConcurrentPerType;
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.retentionMinutes = retentionMinutes;
+        this.maxRetainedJobs = maxRetainedJobs;
+    }
+
+    @Override
+    public ReportJobResponse submitJob(ReportJobRequest request) {
+        // Parameters are converted up front so bad input is rejected with a 400 instead of a failed job
+        String type = request.getType();
+        Supplier<Object> report = prepareReport(type, request.getParams() == null ? Map.of() : request.getParams());
+
+        if (unfinishedJobs.incrementAndGet() > maxQueuedJobs) {
+            unfinishedJobs.decrementAndGet();
+            throw new IllegalOperationException("Too many report jobs are queued, please try again later");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> runJob(job, report));
+        return job.toResponse();
+    }
+
+    @Override
+    public ReportJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    @Override
+    public CompletableFuture<ReportJobResponse> awaitJob(String jobId, long waitMs) {
+        ReportJob job = findJob(jobId);
+        long timeout = Math.min(Math.max(waitMs, 0), MAX_WAIT_MS);
+        // Completes when the job finishes or the wait runs out, whichever comes first, without holding a request thread
+        return job.getCompletion()
+                .copy()
+                .completeOnTimeout(job, timeout, TimeUnit.MILLISECONDS)
+                .thenApply(ReportJob::toResponse);
+    }
+
+    @Override
+    public Object getJobResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new IllegalOperationException("Report job " + jobId + " is " + job.getStatus());
+        }
+        return job.getResult();
+    }
+
+    // Finished jobs are kept for the retention period so their result can be downloaded again
+    @Scheduled(fixedDelayString = "${prabath.report.jobs.cleanupIntervalMs:60000}")
+    public void evictExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.isFinished() && job.getExpiresAt().isBefore(now));
+        synchronized (finishedJobs) {
+            finishedJobs.removeIf(id -> !jobs.containsKey(id));
+        }
+    }
+
+    // Results are held in memory, so past maxRetained finished jobs the oldest are dropped before they expire
+    private void retain(ReportJob job) {
+        synchronized (finishedJobs) {
+            finishedJobs.addLast(job.getId());
+            while (finishedJobs.size() > maxRetainedJobs) {
+                jobs.remove(finishedJobs.pollFirst());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runJob(ReportJob job, Supplier<Object> report) {
+        Semaphore typeLimit = typePermits.computeIfAbsent(job.getType(), type -> new Semaphore(maxConcurrentPerType, true));
+        try {
+            typeLimit.acquire();
+            try {
+                runningPermits.acquire();
+                try {
+                    job.markRunning();
+                    job.markCompleted(report.get(), retentionMinutes);
+                } finally {
+                    runningPermits.release();
+                }
+            } finally {
+                typeLimit.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.markFailed("Report job was cancelled", retentionMinutes);
+        } catch (Exception e) {
+            logger.error("Report job {} ({}) failed", job.getId(), job.getType(), e);
+            job.markFailed(e.getMessage(), retentionMinutes);
+        } finally {
+            unfinishedJobs.decrementAndGet();
+            retain(job);
+        }
+    }
+
+    private Supplier<Object> prepareReport(String type, Map<String, Object> params) {
+        if (type == null) {
+            throw new IllegalOperationException("Report type is required");
+        }
+        try {
+            switch (type) {
+                case "sales_summary": {
+                    DateRangeRequest range = objectMapper.convertValue(params, DateRangeRequest.class);
+                    return () -> stockReportService.generateSalesSummaryReport(range.getStartDate(), range.getEndDate());
+                }
+                case "sales_trend": {
+                    DateRangeRequest range = objectMapper.convertValue(params, DateRangeRequest.class);
+                    return () -> stockReportService.generateSalesTrendReport(
+                            range.getStartDate(), range.getEndDate(), range.getGranularity());
+                }
+                case "supplier_purchase": {
+                    DateRangeRequest range = objectMapper.convertValue(params, DateRangeRequest.class);
+                    return () -> stockReportService.generateSupplierPurchaseReport(range.getStartDate(), range.getEndDate());
+                }
+                case "inventory": {
+                    boolean showLowStockOnly = params.containsKey("showLowStockOnly") && (boolean) params.get("showLowStockOnly");
+                    String sortBy = params.containsKey("sortBy") ? (String) params.get("sortBy") : "stockLevel";
+                    Integer page = (Integer) params.get("page");
+                    Integer size = (Integer) params.get("size");
+                    return () -> stockReportService.generateInventoryReport(showLowStockOnly, sortBy, page, size);
+                }
+                case "item_purchase_history": {
+                    Integer itemId = (Integer) params.get("itemId");
+                    LocalDate startDate = LocalDate.parse((String) params.get("startDate"));
+                    LocalDate endDate = LocalDate.parse((String) params.get("endDate"));
+                    String cursor = (String) params.get("cursor");
+                    Integer limit = (Integer) params.get("limit");
+                    return () -> stockReportService.generateItemPurchaseHistoryReport(itemId, startDate, endDate, cursor, limit);
+                }
+                case "monthly_utility_analysis": {
+                    ReportRequestDTO request = objectMapper.convertValue(params, ReportRequestDTO.class);
+                    return () -> utilityReportService.generateMonthlyAnalysisReport(request);
+                }
+                case "utility_cost_comparison": {
+                    ReportRequestDTO request = objectMapper.convertValue(params, ReportRequestDTO.class);
+                    return () -> utilityReportService.generateUtilityCostComparisonReport(request);
+                }
+                default:
+                    throw new IllegalOperationException("Unknown report type: " + type);
+            }
+        } catch (IllegalArgumentException | ClassCastException | NullPointerException e) {
+            throw new IllegalOperationException("Invalid parameters for report " + type + ": " + e.getMessage());
+        }
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with ID: " + jobId);
+        }
+        return job;
+    }
+}
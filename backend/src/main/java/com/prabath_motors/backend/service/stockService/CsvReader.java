@@ -0,0 +1,77 @@
+package com.prabath_motors.backend.service.stockService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 reader: quoted fields may hold commas, doubled quotes and line breaks
+final class CsvReader {
+
+    // lineNo is the physical line the record starts on, for error messages
+    record Row(int lineNo, List<String> values) {
+        boolean isBlank() {
+            return values.size() == 1 && values.get(0).isBlank();
+        }
+    }
+
+    private CsvReader() {
+    }
+
+    static List<Row> read(String text) {
+        List<Row> rows = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return rows;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int rowStart = 1;
+        int quoteLine = 0;
+        int i = text.charAt(0) == '\uFEFF' ? 1 : 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                quoteLine = line;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                values.add(field.toString());
+                field.setLength(0);
+                rows.add(new Row(rowStart, values));
+                values = new ArrayList<>();
+                line++;
+                rowStart = line;
+            } else {
+                field.append(c);
+            }
+            i++;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field starting on line " + quoteLine);
+        }
+        if (!field.isEmpty() || !values.isEmpty()) {
+            values.add(field.toString());
+            rows.add(new Row(rowStart, values));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,12 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+
+import java.time.LocalDate;
+
+public interface DailySalesRollupService {
+    public void recordStockOut(Stock_Out stock);
+    public void reverseStockOut(Stock_Out stock);
+    public int reconcile(LocalDate startDate, LocalDate endDate);
+    public int rebuildAll();
+}
@@ -0,0 +1,87 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.repository.DailySalesRollupRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+public class DailySalesRollupServiceImpl implements DailySalesRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(DailySalesRollupServiceImpl.class);
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final Stock_OutRepository stockOutRepository;
+
+    @Value("${prabath.report.rollupReconcileDays:35}")
+    private int reconcileDays;
+
+    @Autowired
+    public DailySalesRollupServiceImpl(DailySalesRollupRepository dailySalesRollupRepository,
+                                       Stock_OutRepository stockOutRepository) {
+        this.dailySalesRollupRepository = dailySalesRollupRepository;
+        this.stockOutRepository = stockOutRepository;
+    }
+
+    // Must run inside the caller's Stock_Out transaction so the rollup never drifts from the raw rows
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockOut(Stock_Out stock) {
+        applyToRollup(stock, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseStockOut(Stock_Out stock) {
+        applyToRollup(stock, -1);
+    }
+
+    private void applyToRollup(Stock_Out stock, int sign) {
+        long qty = (long) sign * stock.getQtyUsed();
+        double revenue = qty * stock.getSoldPrice();
+
+        if (sign > 0) {
+            dailySalesRollupRepository.upsertRollup(stock.getDateUsed(), stock.getItemID(), qty, revenue, 1);
+        } else if (dailySalesRollupRepository.addToRollup(stock.getDateUsed(), stock.getItemID(), qty, revenue, sign) > 0) {
+            dailySalesRollupRepository.deleteIfEmpty(stock.getDateUsed(), stock.getItemID());
+        }
+    }
+
+    // Recomputes the rollup rows of the range from Stock_Out with two set-based statements
+    @Override
+    @Transactional
+    public int reconcile(LocalDate startDate, LocalDate endDate) {
+        dailySalesRollupRepository.deleteBySalesDateBetween(startDate, endDate);
+        return dailySalesRollupRepository.insertFromStockOut(startDate, endDate);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        dailySalesRollupRepository.deleteAllInBatch();
+
+        LocalDate earliest = stockOutRepository.findEarliestDateUsed();
+        LocalDate latest = stockOutRepository.findLatestDateUsed();
+        if (earliest == null) {
+            return 0;
+        }
+        return dailySalesRollupRepository.insertFromStockOut(earliest, latest);
+    }
+
+    // Nightly pass over the recent window to repair any drift from writes made outside the services
+    @Scheduled(cron = "${prabath.report.rollupReconcileCron:0 30 2 * * *}")
+    @Transactional
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        int rows = reconcile(today.minusDays(reconcileDays), today);
+        logger.info("Reconciled daily sales rollups for the last {} days ({} rows)", reconcileDays, rows);
+    }
+}
@@ -0,0 +1,13 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dto.StocksDto.ReorderSuggestion;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ItemConsumptionForecastService {
+    public void recordUsage(int itemID, LocalDate date, long qty);
+    public List<ReorderSuggestion> getReorderSuggestions(boolean belowReorderLevelOnly);
+    public ReorderSuggestion getReorderSuggestion(Integer itemID);
+    public int rebuildAll();
+}
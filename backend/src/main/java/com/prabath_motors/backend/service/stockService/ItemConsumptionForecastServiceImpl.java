@@ -0,0 +1,230 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.ItemConsumptionForecast;
+import com.prabath_motors.backend.dto.StocksDto.ItemDailyUsage;
+import com.prabath_motors.backend.dto.StocksDto.ReorderSuggestion;
+import com.prabath_motors.backend.dto.StocksDto.SupplierLeadTime;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.ItemConsumptionForecastRepository;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.RestockRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an exponentially weighted average of every item's daily usage and turns it into reorder suggestions.
+ * Each stock-out only moves the item's estimate forward from where it was, so history is never rescanned.
+ */
+@Service
+public class ItemConsumptionForecastServiceImpl implements ItemConsumptionForecastService {
+    // Past this many idle days the weight of older usage is negligible
+    private static final int MAX_IDLE_DAYS = 365;
+    private static final int REBUILD_FLUSH_INTERVAL = 500;
+
+    private final ItemConsumptionForecastRepository forecastRepository;
+    private final ItemRepository itemRepository;
+    private final RestockRepository restockRepository;
+    private final Stock_OutRepository stockOutRepository;
+    private final double alpha;
+    private final double serviceLevelZ;
+    private final int coverDays;
+    private final double defaultLeadTimeDays;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ItemConsumptionForecastServiceImpl(ItemConsumptionForecastRepository forecastRepository,
+                                              ItemRepository itemRepository,
+                                              RestockRepository restockRepository,
+                                              Stock_OutRepository stockOutRepository,
+                                              @Value("${prabath.forecast.alpha:0.1}") double alpha,
+                                              @Value("${prabath.forecast.serviceLevelZ:1.65}") double serviceLevelZ,
+                                              @Value("${prabath.forecast.coverDays:30}") int coverDays,
+                                              @Value("${prabath.forecast.defaultLeadTimeDays:7}") double defaultLeadTimeDays) {
+        this.forecastRepository = forecastRepository;
+        this.itemRepository = itemRepository;
+        this.restockRepository = restockRepository;
+        this.stockOutRepository = stockOutRepository;
+        this.alpha = alpha;
+        this.serviceLevelZ = serviceLevelZ;
+        this.coverDays = coverDays;
+        this.defaultLeadTimeDays = defaultLeadTimeDays;
+    }
+
+    // Negative quantities take back a deleted or edited stock-out
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUsage(int itemID, LocalDate date, long qty) {
+        if (qty == 0) {
+            return;
+        }
+        forecastRepository.insertIfMissing(itemID);
+        ItemConsumptionForecast forecast = forecastRepository.findByIdForUpdate(itemID).orElseThrow();
+        addUsage(forecast, date, qty);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReorderSuggestion> getReorderSuggestions(boolean belowReorderLevelOnly) {
+        Map<Integer, ItemConsumptionForecast> forecasts = forecastRepository.findAll().stream()
+                .collect(Collectors.toMap(ItemConsumptionForecast::getItemID, Function.identity()));
+        Map<Integer, Double> leadTimes = findLeadTimes();
+        LocalDate today = LocalDate.now();
+
+        return itemRepository.findAllById(forecasts.keySet()).stream()
+                .map(item -> suggest(item, forecasts.get(item.getItemID()), leadTimes, today))
+                .filter(suggestion -> !belowReorderLevelOnly || suggestion.getSuggestedOrderQty() > 0)
+                .sorted(Comparator.comparing(ReorderSuggestion::getDaysOfStockLeft,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReorderSuggestion getReorderSuggestion(Integer itemID) {
+        Item item = itemRepository.findById(itemID)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with ID: " + itemID));
+        ItemConsumptionForecast forecast = forecastRepository.findById(itemID)
+                .orElseGet(() -> new ItemConsumptionForecast(itemID, 0, 0, null, 0, 0));
+        return suggest(item, forecast, findLeadTimes(), LocalDate.now());
+    }
+
+    // Replays the whole Stock_Out history; only needed when the table is first created or has drifted
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        forecastRepository.deleteAllInBatch();
+
+        // MySQL allows no other statement while a streaming result is open, so rows are written afterwards
+        List<ItemConsumptionForecast> forecasts = new ArrayList<>();
+        try (Stream<ItemDailyUsage> usage = stockOutRepository.streamDailyUsage()) {
+            ItemConsumptionForecast forecast = null;
+            Iterator<ItemDailyUsage> iterator = usage.iterator();
+            while (iterator.hasNext()) {
+                ItemDailyUsage day = iterator.next();
+                if (forecast == null || forecast.getItemID() != day.getItemID()) {
+                    forecast = new ItemConsumptionForecast(day.getItemID(), 0, 0, null, 0, 0);
+                    forecasts.add(forecast);
+                }
+                addUsage(forecast, day.getDateUsed(), day.getQtyUsed());
+            }
+        }
+
+        for (int i = 0; i < forecasts.size(); i++) {
+            entityManager.persist(forecasts.get(i));
+            if ((i + 1) % REBUILD_FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return forecasts.size();
+    }
+
+    private void addUsage(ItemConsumptionForecast forecast, LocalDate date, long qty) {
+        if (forecast.getOpenDate() == null) {
+            forecast.setOpenDate(date);
+        }
+        if (date.isAfter(forecast.getOpenDate())) {
+            advanceTo(forecast, date);
+        }
+        // Before any day is closed there is no average yet, so earlier usage counts toward the open day
+        if (date.isEqual(forecast.getOpenDate()) || forecast.getTrackedDays() == 0) {
+            forecast.setOpenDayQty(Math.max(forecast.getOpenDayQty() + qty, 0));
+            return;
+        }
+        // A back-dated day is already inside the average, with weight alpha * (1 - alpha)^age
+        long age = ChronoUnit.DAYS.between(date, forecast.getOpenDate()) - 1;
+        if (age < MAX_IDLE_DAYS) {
+            double weight = alpha * Math.pow(1 - alpha, age);
+            forecast.setAvgDailyUsage(Math.max(forecast.getAvgDailyUsage() + weight * qty, 0));
+        }
+    }
+
+    // Closes the open day and the idle days after it, up to the day before the given date
+    private void advanceTo(ItemConsumptionForecast forecast, LocalDate date) {
+        foldDay(forecast, forecast.getOpenDayQty());
+        long idleDays = Math.min(ChronoUnit.DAYS.between(forecast.getOpenDate(), date) - 1, MAX_IDLE_DAYS);
+        for (long day = 0; day < idleDays; day++) {
+            foldDay(forecast, 0);
+        }
+        forecast.setOpenDate(date);
+        forecast.setOpenDayQty(0);
+    }
+
+    private void foldDay(ItemConsumptionForecast forecast, double qty) {
+        if (forecast.getTrackedDays() == 0) {
+            forecast.setAvgDailyUsage(qty);
+            forecast.setUsageVariance(0);
+        } else {
+            double diff = qty - forecast.getAvgDailyUsage();
+            double increment = alpha * diff;
+            forecast.setAvgDailyUsage(forecast.getAvgDailyUsage() + increment);
+            forecast.setUsageVariance((1 - alpha) * (forecast.getUsageVariance() + diff * increment));
+        }
+        forecast.setTrackedDays(forecast.getTrackedDays() + 1);
+    }
+
+    private Map<Integer, Double> findLeadTimes() {
+        Map<Integer, Double> leadTimes = new HashMap<>();
+        for (SupplierLeadTime leadTime : restockRepository.findSupplierLeadTimes()) {
+            if (leadTime.getLeadTimeDays() != null) {
+                leadTimes.put(leadTime.getSupplierId(), leadTime.getLeadTimeDays());
+            }
+        }
+        return leadTimes;
+    }
+
+    private ReorderSuggestion suggest(Item item, ItemConsumptionForecast stored, Map<Integer, Double> leadTimes,
+                                      LocalDate today) {
+        // Bring a copy up to yesterday so items that stopped selling decay instead of keeping their old rate
+        ItemConsumptionForecast forecast = new ItemConsumptionForecast(stored.getItemID(), stored.getAvgDailyUsage(),
+                stored.getUsageVariance(), stored.getOpenDate(), stored.getOpenDayQty(), stored.getTrackedDays());
+        if (forecast.getOpenDate() != null && today.isAfter(forecast.getOpenDate())) {
+            advanceTo(forecast, today);
+        }
+
+        double usage = forecast.getAvgDailyUsage();
+        double stdDev = Math.sqrt(forecast.getUsageVariance());
+        double leadTime = leadTimes.getOrDefault(item.getSupplierId(), defaultLeadTimeDays);
+
+        // Expected usage while the order is on its way plus safety stock for the chosen service level
+        int reorderLevel = (int) Math.ceil(usage * leadTime + serviceLevelZ * stdDev * Math.sqrt(leadTime));
+        reorderLevel = Math.max(reorderLevel, 1);
+        int orderUpTo = reorderLevel + (int) Math.ceil(usage * coverDays);
+
+        ReorderSuggestion suggestion = new ReorderSuggestion();
+        suggestion.setItemID(item.getItemID());
+        suggestion.setItemName(item.getItemName());
+        suggestion.setSupplierId(item.getSupplierId());
+        suggestion.setQtyAvailable(item.getQtyAvailable());
+        suggestion.setRecorderLevel(item.getRecorderLevel());
+        suggestion.setAvgDailyUsage(usage);
+        suggestion.setUsageStdDev(stdDev);
+        suggestion.setLeadTimeDays(leadTime);
+        suggestion.setDaysOfStockLeft(usage > 0 ? item.getQtyAvailable() / usage : null);
+        suggestion.setSuggestedReorderLevel(reorderLevel);
+        suggestion.setSuggestedOrderQty(item.getQtyAvailable() <= reorderLevel
+                ? Math.max(orderUpTo - item.getQtyAvailable(), 1) : 0);
+        return suggestion;
+    }
+}
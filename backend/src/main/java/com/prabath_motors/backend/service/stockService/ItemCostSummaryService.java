@@ -0,0 +1,15 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.ItemCostSummary;
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ItemCostSummaryService {
+    public void recordStockIn(Stock_In stock);
+    public void recordStockIns(List<Stock_In> stocks);
+    public void reverseStockIn(Stock_In stock);
+    public Map<Integer, ItemCostSummary> getSummariesByItem();
+    public int rebuildAll();
+}
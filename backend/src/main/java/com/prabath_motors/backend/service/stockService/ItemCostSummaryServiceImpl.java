@@ -0,0 +1,107 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.ItemCostSummary;
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.repository.ItemCostSummaryRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class ItemCostSummaryServiceImpl implements ItemCostSummaryService {
+    private final ItemCostSummaryRepository itemCostSummaryRepository;
+    private final Stock_InRepository stockInRepository;
+
+    @Autowired
+    public ItemCostSummaryServiceImpl(ItemCostSummaryRepository itemCostSummaryRepository,
+                                      Stock_InRepository stockInRepository) {
+        this.itemCostSummaryRepository = itemCostSummaryRepository;
+        this.stockInRepository = stockInRepository;
+    }
+
+    // Must run inside the caller's Stock_In transaction so the summary never drifts from the raw rows
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockIn(Stock_In stock) {
+        double cost = stock.getQtyAdded() * stock.getUnitPrice();
+        itemCostSummaryRepository.upsertTotals(stock.getItemID(), 1, stock.getQtyAdded(), cost,
+                stock.getUnitPrice(), stock.getUnitPrice(), stock.getStockInID());
+    }
+
+    // Set-based variant for imports: one upsert per distinct item instead of per row
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockIns(List<Stock_In> stocks) {
+        Map<Integer, List<Stock_In>> byItem = new TreeMap<>();
+        for (Stock_In stock : stocks) {
+            byItem.computeIfAbsent(stock.getItemID(), itemID -> new ArrayList<>()).add(stock);
+        }
+
+        for (Map.Entry<Integer, List<Stock_In>> entry : byItem.entrySet()) {
+            int itemID = entry.getKey();
+            long qty = 0;
+            double cost = 0;
+            double unitPriceSum = 0;
+            Stock_In latest = null;
+            for (Stock_In stock : entry.getValue()) {
+                qty += stock.getQtyAdded();
+                cost += stock.getQtyAdded() * stock.getUnitPrice();
+                unitPriceSum += stock.getUnitPrice();
+                if (latest == null || stock.getStockInID() > latest.getStockInID()) {
+                    latest = stock;
+                }
+            }
+
+            itemCostSummaryRepository.upsertTotals(itemID, entry.getValue().size(), qty, cost, unitPriceSum,
+                    latest.getUnitPrice(), latest.getStockInID());
+        }
+    }
+
+    // Expects the Stock_In row to be already deleted or changed (and flushed) by the caller
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseStockIn(Stock_In stock) {
+        double cost = stock.getQtyAdded() * stock.getUnitPrice();
+        itemCostSummaryRepository.addToTotals(
+                stock.getItemID(), -1, -stock.getQtyAdded(), -cost, -stock.getUnitPrice());
+
+        // If the reversed row was the latest purchase, fall back to the next most recent one
+        Integer lastStockInID = itemCostSummaryRepository.findLastStockInID(stock.getItemID());
+        if (lastStockInID != null && lastStockInID == stock.getStockInID()) {
+            stockInRepository.findTopByItemIDOrderByStockInIDDesc(stock.getItemID())
+                    .ifPresentOrElse(
+                            latest -> itemCostSummaryRepository.setLastPurchase(
+                                    stock.getItemID(), latest.getStockInID(), latest.getUnitPrice()),
+                            () -> itemCostSummaryRepository.setLastPurchase(stock.getItemID(), 0, 0));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, ItemCostSummary> getSummariesByItem() {
+        List<ItemCostSummary> summaries = itemCostSummaryRepository.findAll();
+        Map<Integer, ItemCostSummary> byItem = new HashMap<>(summaries.size() * 2);
+        for (ItemCostSummary summary : summaries) {
+            byItem.put(summary.getItemID(), summary);
+        }
+        return byItem;
+    }
+
+    // Recomputes every summary row from Stock_In with two set-based statements
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        itemCostSummaryRepository.deleteAllInBatch();
+        int rows = itemCostSummaryRepository.insertTotalsFromStockIn();
+        itemCostSummaryRepository.refreshLastUnitPrices();
+        return rows;
+    }
+}
@@ -0,0 +1,12 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dto.StocksDto.ItemSummary;
+
+import java.util.List;
+
+public interface ItemLookupService {
+    int DEFAULT_SEARCH_LIMIT = 10;
+
+    public ItemSummary findByBarcode(Integer barcode);
+    public List<ItemSummary> search(String query, int limit);
+}
@@ -0,0 +1,197 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dto.StocksDto.ItemSummary;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Answers barcode scans and search-as-you-type from memory. Every item's summary is loaded once at startup
+ * and the entries of an item are reloaded after each committed write to it, so lookups never wait on the database.
+ */
+@Service
+public class ItemLookupServiceImpl implements ItemLookupService {
+    private static final Logger logger = LoggerFactory.getLogger(ItemLookupServiceImpl.class);
+
+    private static final int MAX_SEARCH_LIMIT = 50;
+
+    // Best stocked first, then alphabetical
+    private static final Comparator<ItemSummary> SEARCH_RANK = Comparator
+            .comparingInt(ItemSummary::getQtyAvailable).reversed()
+            .thenComparing(ItemSummary::getItemName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(ItemSummary::getItemID);
+
+    private final ItemRepository itemRepository;
+
+    // Sorted words of names and brands plus barcodes, each mapped to the items containing it; a prefix is a key range
+    private volatile NavigableMap<String, Set<Integer>> words = new ConcurrentSkipListMap<>();
+
+    // Replaced as a whole on a full reload; single items are updated in place under the lock
+    private volatile Map<Integer, ItemSummary> byId = new ConcurrentHashMap<>();
+    private volatile Map<Integer, ItemSummary> byBarcode = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public ItemLookupServiceImpl(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public ItemSummary findByBarcode(Integer barcode) {
+        // Until the first load finishes, fall back to the database
+        ItemSummary summary = loaded
+                ? byBarcode.get(barcode)
+                : itemRepository.findSummaryByBarcode(barcode).orElse(null);
+        if (summary == null) {
+            throw new ResourceNotFoundException("No item found with barcode: " + barcode);
+        }
+        return summary;
+    }
+
+    // Every query word must start a word of the item's name or brand, or its barcode
+    @Override
+    public List<ItemSummary> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || !loaded) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+
+        // Candidates come from the longest word, which usually matches the fewest items
+        String narrowest = terms.stream().max(Comparator.comparingInt(String::length)).get();
+        Set<Integer> candidates = new HashSet<>();
+        for (Set<Integer> ids : words.subMap(narrowest, true, narrowest + Character.MAX_VALUE, false).values()) {
+            candidates.addAll(ids);
+        }
+
+        // Bounded heap whose head is the weakest of the best matches so far
+        PriorityQueue<ItemSummary> best = new PriorityQueue<>(size + 1, SEARCH_RANK.reversed());
+        for (Integer id : candidates) {
+            ItemSummary summary = byId.get(id);
+            if (summary == null || (terms.size() > 1 && !matchesAll(summary, terms))) {
+                continue;
+            }
+            best.add(summary);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+
+        List<ItemSummary> results = new ArrayList<>(best);
+        results.sort(SEARCH_RANK);
+        return results;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reloadAll() {
+        List<ItemSummary> summaries = itemRepository.findAllSummaries();
+        Map<Integer, ItemSummary> ids = new ConcurrentHashMap<>(summaries.size() * 2);
+        Map<Integer, ItemSummary> barcodes = new ConcurrentHashMap<>(summaries.size() * 2);
+        NavigableMap<String, Set<Integer>> index = new ConcurrentSkipListMap<>();
+        for (ItemSummary summary : summaries) {
+            ids.put(summary.getItemID(), summary);
+            if (summary.getItemBarcode() != null) {
+                barcodes.put(summary.getItemBarcode(), summary);
+            }
+            addWords(index, summary);
+        }
+        byId = ids;
+        byBarcode = barcodes;
+        words = index;
+        loaded = true;
+        logger.info("Loaded {} items into the lookup index", summaries.size());
+    }
+
+    // Stock movements also publish an ITEM event for every item whose quantity they change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockDataChanged(StockDataChangedEvent event) {
+        if (event.getSource() != StockDataChangedEvent.Source.ITEM) {
+            return;
+        }
+        if (event.getItemId() == null) {
+            reloadAll();
+        } else {
+            reloadItem(event.getItemId());
+        }
+    }
+
+    // Reads the committed row, so applying events out of order still ends on the latest state
+    private synchronized void reloadItem(Integer itemID) {
+        ItemSummary current = itemRepository.findSummaryById(itemID).orElse(null);
+        ItemSummary previous = current == null ? byId.remove(itemID) : byId.put(itemID, current);
+
+        if (previous != null) {
+            if (previous.getItemBarcode() != null) {
+                byBarcode.remove(previous.getItemBarcode(), previous);
+            }
+            removeWords(words, previous);
+        }
+        if (current != null) {
+            if (current.getItemBarcode() != null) {
+                byBarcode.put(current.getItemBarcode(), current);
+            }
+            addWords(words, current);
+        }
+    }
+
+    private static void addWords(NavigableMap<String, Set<Integer>> index, ItemSummary summary) {
+        for (String word : wordsOf(summary)) {
+            index.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(summary.getItemID());
+        }
+    }
+
+    private static void removeWords(NavigableMap<String, Set<Integer>> index, ItemSummary summary) {
+        for (String word : wordsOf(summary)) {
+            index.computeIfPresent(word, (key, ids) -> {
+                ids.remove(summary.getItemID());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static boolean matchesAll(ItemSummary summary, List<String> terms) {
+        Set<String> itemWords = wordsOf(summary);
+        return terms.stream().allMatch(term -> itemWords.stream().anyMatch(word -> word.startsWith(term)));
+    }
+
+    private static Set<String> wordsOf(ItemSummary summary) {
+        Set<String> result = new HashSet<>(tokenize(summary.getItemName()));
+        result.addAll(tokenize(summary.getItemBrand()));
+        if (summary.getItemBarcode() != null) {
+            result.add(summary.getItemBarcode().toString());
+        }
+        return result;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,13 +1,18 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 
 import java.util.List;
 
 public interface ItemService {
     public List<Item> getAllItems();
+    public KeysetPage<Item> getItemPage(StockPageFilter filter);
     public Item getItemByID(Integer itemID);
     public Item SaveItem(Item item);
     public Item UpdateItem(Integer id, Item item);
     public void DeleteItemById(Integer id);
+    public void adjustStock(Integer itemID, int delta);
+    public int recalculateStockLevels();
 }
\ No newline at end of file
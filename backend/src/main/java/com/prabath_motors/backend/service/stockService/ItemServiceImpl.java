@@ -1,27 +1,59 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
 import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.StockSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ItemServiceImpl implements ItemService {
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("itemID", "itemName");
+
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ItemServiceImpl(ItemRepository itemRepository) {this.itemRepository = itemRepository;}
+    public ItemServiceImpl(ItemRepository itemRepository, ApplicationEventPublisher eventPublisher) {
+        this.itemRepository = itemRepository;
+        this.eventPublisher = eventPublisher;
+    }
 
     @Override
     public List<Item> getAllItems() {
-        List<Item> items = itemRepository.findAll();
-        if (items.isEmpty()) {
-            throw new RuntimeException("No items found");
+        return itemRepository.findAll();
+    }
+
+    // Filters by supplier and stock level (status); sorts by id or name
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Item> getItemPage(StockPageFilter filter) {
+        StockLevel stockLevel = null;
+        if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+            stockLevel = StockLevel.fromLabel(filter.getStatus());
+            if (stockLevel == null) {
+                throw new IllegalOperationException("Unknown stock level: " + filter.getStatus());
+            }
         }
-        return items;
+        Specification<Item> spec = Specification.where(StockSpecifications.<Item>equalTo("supplierId", filter.getSupplierID()))
+                .and(StockSpecifications.equalTo("stockLevel", stockLevel));
+        Sort sort = KeysetPages.sort(filter, PAGE_SORT_KEYS, "itemID", Sort.Direction.ASC, "itemID");
+        return KeysetPages.find(itemRepository, spec, sort, filter, Item.class);
     }
 
     @Override
@@ -30,15 +62,27 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public Item SaveItem(Item item) {
+        // Stock only arrives through stock-ins, which also record the purchase; an opening quantity here would be
+        // counted again by the stock-in that goes with it
+        if (item.getQtyAvailable() != 0) {
+            throw new IllegalOperationException("New items start with no stock; record the opening quantity as a stock-in");
+        }
+        item.setItemBarcode(checkBarcode(item.getItemBarcode(), item.getItemID()));
         // Calculate stock level before saving
-        item.setStockLevel(calculateStockLevel(item.getQtyAvailable(), item.getRecorderLevel()));
-        return itemRepository.save(item);
+        item.setStockLevel(StockLevel.of(item.getQtyAvailable(), item.getRecorderLevel()));
+        Item savedItem = saveWithUniqueBarcode(item);
+        eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.ITEM, savedItem.getItemID(), null));
+        return savedItem;
     }
 
     @Override
+    @Transactional
     public Item UpdateItem(Integer id, Item item) {
-        Optional<Item> optionalItem = itemRepository.findById(id);
+        // Locked so a concurrent stock movement waits for this edit; the quantity itself is not taken from the
+        // client, whose copy may be stale, and only ever moves through adjustStock deltas
+        Optional<Item> optionalItem = itemRepository.findByIdForUpdate(id);
 
         if (optionalItem.isPresent()) {
             Item existingItem = optionalItem.get();
@@ -46,20 +90,20 @@ public class ItemServiceImpl implements ItemService {
             // Update only the necessary fields
             existingItem.setSupplierId(item.getSupplierId());
             existingItem.setItemName(item.getItemName());
-            existingItem.setItemBarcode(item.getItemBarcode());
+            existingItem.setItemBarcode(checkBarcode(item.getItemBarcode(), id));
             existingItem.setRecorderLevel(item.getRecorderLevel());
-            existingItem.setQtyAvailable(item.getQtyAvailable());
             existingItem.setItemBrand(item.getItemBrand());
             existingItem.setSellPrice(item.getSellPrice());
-            existingItem.setStockLevel(item.getStockLevel());
             existingItem.setRackNo(item.getRackNo());
             existingItem.setUpdatedDate(item.getUpdatedDate());
 
             // Calculate and set stock level
-            existingItem.setStockLevel(calculateStockLevel(item.getQtyAvailable(), item.getRecorderLevel()));
+            existingItem.setStockLevel(StockLevel.of(existingItem.getQtyAvailable(), item.getRecorderLevel()));
 
             // Save the updated entity
-            return itemRepository.save(existingItem);
+            Item updatedItem = saveWithUniqueBarcode(existingItem);
+            eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.ITEM, id, null));
+            return updatedItem;
         } else {
             throw new RuntimeException("Item not found with ID: " + id);
         }
@@ -68,17 +112,63 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public void DeleteItemById(Integer id) {
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.ITEM, id, null));
     }
 
-    private String calculateStockLevel(int qtyAvailable, int recorderLevel) {
-        if (qtyAvailable >= (recorderLevel * 4)) {
-            return "High";
-        } else if (qtyAvailable >= (recorderLevel * 2)) {
-            return "Medium";
-        } else if (qtyAvailable >= recorderLevel) {
-            return "Low";
-        } else {
-            return "Critical";
+    // Positive delta adds stock, negative takes it out; never lets qtyAvailable go below zero
+    @Override
+    @Transactional
+    public void adjustStock(Integer itemID, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int updated = itemRepository.adjustQtyAvailable(itemID, delta);
+        if (updated == 0) {
+            if (!itemRepository.existsById(itemID)) {
+                throw new ResourceNotFoundException("Item not found with ID: " + itemID);
+            }
+            throw new IllegalOperationException("Insufficient stock for item " + itemID + ": cannot take out " + (-delta));
+        }
+        eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.ITEM, itemID, null));
+    }
+
+    // Set-based, for after imports or direct edits of quantities and reorder levels
+    @Override
+    @Transactional
+    public int recalculateStockLevels() {
+        int updated = itemRepository.recalculateStockLevels();
+        if (updated > 0) {
+            eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.ITEM));
+        }
+        return updated;
+    }
+
+    // Treats 0 as "no barcode" and refuses a barcode that already belongs to another item
+    private Integer checkBarcode(Integer barcode, Integer itemID) {
+        if (barcode == null || barcode == 0) {
+            return null;
+        }
+        if (itemRepository.existsBarcodeOnOtherItem(barcode, itemID)) {
+            throw barcodeTaken(barcode);
         }
+        return barcode;
+    }
+
+    // A concurrent save can take the barcode between checkBarcode and this write; the unique index catches that,
+    // and flushing here turns it into the same 400 instead of a failure at commit
+    private Item saveWithUniqueBarcode(Item item) {
+        try {
+            return itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (item.getItemBarcode() != null && cause != null && cause.contains(Item.BARCODE_INDEX)) {
+                throw barcodeTaken(item.getItemBarcode());
+            }
+            throw e;
+        }
+    }
+
+    private static IllegalOperationException barcodeTaken(Integer barcode) {
+        return new IllegalOperationException("Barcode " + barcode + " is already assigned to another item");
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Item_Ctgry;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
 import com.prabath_motors.backend.repository.Item_CtgryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,10 +13,12 @@ import java.util.Optional;
 @Service
 public class Item_CtgryServiceImpl implements Item_CtgryService {
     private final Item_CtgryRepository item_CtgryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public Item_CtgryServiceImpl(Item_CtgryRepository item_CtgryRepository) {
+    public Item_CtgryServiceImpl(Item_CtgryRepository item_CtgryRepository, ApplicationEventPublisher eventPublisher) {
         this.item_CtgryRepository = item_CtgryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -33,7 +37,9 @@ public class Item_CtgryServiceImpl implements Item_CtgryService {
 
     @Override
     public Item_Ctgry SaveItemCtgry(Item_Ctgry itemCtgry){
-        return item_CtgryRepository.save(itemCtgry);
+        Item_Ctgry savedCategory = item_CtgryRepository.save(itemCtgry);
+        eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.ITEM_CTGRY));
+        return savedCategory;
     }
 
     @Override
@@ -46,7 +52,9 @@ public class Item_CtgryServiceImpl implements Item_CtgryService {
 
             existingCategory.setItemCtgryName(itemCtgry.getItemCtgryName());
 
-            return item_CtgryRepository.save(existingCategory);
+            Item_Ctgry updatedCategory = item_CtgryRepository.save(existingCategory);
+            eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.ITEM_CTGRY));
+            return updatedCategory;
         } else {
             throw new RuntimeException("Item Category not found with ID: " + id);
         }
@@ -55,5 +63,6 @@ public class Item_CtgryServiceImpl implements Item_CtgryService {
     @Override
     public void DeleteItemCtgryById(Integer id) {
         item_CtgryRepository.deleteById(id);
+        eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.ITEM_CTGRY));
     }
 }
\ No newline at end of file
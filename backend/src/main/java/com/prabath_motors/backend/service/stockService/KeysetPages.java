@@ -0,0 +1,113 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared plumbing of the keyset-paged stock lists behind the {@code /page} endpoints. Each request returns one
+ * page, filtered and sorted in the database. A page continues after the sort key values of the previous page's
+ * last row, which the client gets back as an opaque URL-safe cursor (nextCursor), so every page costs one index
+ * range scan however deep it is.
+ */
+final class KeysetPages {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private static final ObjectMapper CURSOR_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private KeysetPages() {
+    }
+
+    static int limit(StockPageFilter filter) {
+        return filter.getLimit() == null ? DEFAULT_LIMIT : Math.min(Math.max(filter.getLimit(), 1), MAX_LIMIT);
+    }
+
+    // The requested key followed by the id as tie-breaker, both in the requested direction so one index serves the scan
+    static Sort sort(StockPageFilter filter, Set<String> sortKeys, String defaultKey, Sort.Direction defaultDirection,
+                     String idKey) {
+        String key = filter.getSortBy() == null || filter.getSortBy().isBlank() ? defaultKey : filter.getSortBy();
+        if (!sortKeys.contains(key)) {
+            throw new IllegalOperationException("Cannot sort by " + key + ", use one of " + sortKeys);
+        }
+        Sort.Direction direction = filter.getDirection() == null || filter.getDirection().isBlank()
+                ? defaultDirection
+                : Sort.Direction.fromOptionalString(filter.getDirection())
+                        .orElseThrow(() -> new IllegalOperationException("Direction must be asc or desc"));
+        Sort sort = Sort.by(direction, key);
+        return key.equals(idKey) ? sort : sort.and(Sort.by(direction, idKey));
+    }
+
+    // The page of entityType rows matching spec that follows filter's cursor
+    static <T> KeysetPage<T> find(JpaSpecificationExecutor<T> repository, Specification<T> spec, Sort sort,
+                                  StockPageFilter filter, Class<T> entityType) {
+        Window<T> window = repository.findBy(spec, query -> query.sortBy(sort)
+                .limit(limit(filter))
+                .scroll(position(filter.getCursor(), sort, entityType)));
+        return page(window);
+    }
+
+    static ScrollPosition position(String cursor, Sort sort, Class<?> entityType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> raw;
+        try {
+            raw = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new IllegalOperationException("Invalid cursor");
+        }
+        if (raw == null) {
+            throw new IllegalOperationException("Invalid cursor");
+        }
+
+        // The cursor must come from a page with the same sort, and its values are turned back into the key types
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            if (!raw.containsKey(order.getProperty())) {
+                throw new IllegalOperationException("The cursor belongs to a different sort order");
+            }
+            Class<?> type = BeanUtils.findPropertyType(order.getProperty(), entityType);
+            try {
+                keys.put(order.getProperty(), CURSOR_MAPPER.convertValue(raw.get(order.getProperty()), type));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalOperationException("Invalid cursor");
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static <T> KeysetPage<T> page(Window<T> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            try {
+                nextCursor = Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(CURSOR_MAPPER.writeValueAsString(last.getKeys()).getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not encode the page cursor", e);
+            }
+        }
+        return new KeysetPage<>(window.getContent(), nextCursor);
+    }
+}
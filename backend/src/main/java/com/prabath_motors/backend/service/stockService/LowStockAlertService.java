@@ -0,0 +1,10 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Restock;
+
+import java.util.List;
+
+public interface LowStockAlertService {
+    public int getPendingAlertCount();
+    public List<Restock> createPendingRestocks();
+}
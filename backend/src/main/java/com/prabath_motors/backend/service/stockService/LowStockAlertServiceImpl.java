@@ -0,0 +1,145 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.RestockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches committed item changes for items falling below their reorder level and raises a Pending restock
+ * for them. Detection runs on the async executor so stock movements never wait for it; the restocks
+ * themselves are written in batches by a scheduled flush.
+ */
+@Service
+public class LowStockAlertServiceImpl implements LowStockAlertService {
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlertServiceImpl.class);
+
+    private final ItemRepository itemRepository;
+    private final RestockRepository restockRepository;
+    private final Duration debounce;
+
+    // Last level seen per item, to tell a fresh drop below the reorder level from an item that stays there
+    private final Map<Integer, StockLevel> lastLevels = new ConcurrentHashMap<>();
+    // Items that dropped since the last flush
+    private final Set<Integer> pendingItems = ConcurrentHashMap.newKeySet();
+    // When a restock was last raised per item, so an item bouncing around its reorder level raises one
+    private final Map<Integer, Instant> lastRaised = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LowStockAlertServiceImpl(ItemRepository itemRepository, RestockRepository restockRepository,
+                                    @Value("${prabath.restock.alert.debounceMinutes:60}") long debounceMinutes) {
+        this.itemRepository = itemRepository;
+        this.restockRepository = restockRepository;
+        this.debounce = Duration.ofMinutes(debounceMinutes);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockDataChanged(StockDataChangedEvent event) {
+        if (event.getSource() != StockDataChangedEvent.Source.ITEM) {
+            return;
+        }
+        if (event.getItemId() == null) {
+            // Bulk changes: every item already below its reorder level is a candidate
+            itemRepository.findByStockLevelIn(List.of(StockLevel.CRITICAL)).forEach(this::checkLevel);
+            return;
+        }
+        itemRepository.findById(event.getItemId()).ifPresentOrElse(this::checkLevel, () -> {
+            lastLevels.remove(event.getItemId());
+            pendingItems.remove(event.getItemId());
+        });
+    }
+
+    private void checkLevel(Item item) {
+        StockLevel previous = lastLevels.put(item.getItemID(), item.getStockLevel());
+        if (item.getStockLevel() == StockLevel.CRITICAL && previous != StockLevel.CRITICAL) {
+            Instant raised = lastRaised.get(item.getItemID());
+            if (raised == null || raised.plus(debounce).isBefore(Instant.now())) {
+                pendingItems.add(item.getItemID());
+            }
+        }
+    }
+
+    @Override
+    public int getPendingAlertCount() {
+        return pendingItems.size();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${prabath.restock.alert.flushIntervalMs:60000}")
+    public List<Restock> createPendingRestocks() {
+        if (pendingItems.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> itemIDs = new HashSet<>(pendingItems);
+        pendingItems.removeAll(itemIDs);
+        // Taken out now so drops arriving during the flush wait for the next one; handed back if the write fails
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    pendingItems.addAll(itemIDs);
+                }
+            }
+        });
+
+        // Skip items that recovered meanwhile or already have a restock waiting
+        Set<Integer> alreadyPending = new HashSet<>(restockRepository.findItemIDsWithStatus(Restock.STATUS_PENDING, itemIDs));
+        List<Item> items = itemRepository.findAllById(itemIDs).stream()
+                .filter(item -> item.getStockLevel() == StockLevel.CRITICAL)
+                .filter(item -> !alreadyPending.contains(item.getItemID()))
+                .sorted(Comparator.comparingInt(Item::getSupplierId).thenComparingInt(Item::getItemID))
+                .toList();
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Restock> restocks = new ArrayList<>(items.size());
+        for (Item item : items) {
+            // Enough to bring the item back up to the High level
+            int qty = Math.max(item.getRecorderLevel() * StockLevel.HIGH.getReorderMultiple() - item.getQtyAvailable(), 1);
+            restocks.add(new Restock(0, item.getItemID(), item.getSupplierId(), Restock.STATUS_PENDING, qty, today));
+        }
+        List<Restock> saved = restockRepository.saveAll(restocks);
+
+        // Debounced only once the restocks are really there
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Instant now = Instant.now();
+                items.forEach(item -> lastRaised.put(item.getItemID(), now));
+            }
+        });
+        Map<Integer, Long> perSupplier = saved.stream()
+                .collect(Collectors.groupingBy(Restock::getSupplierID, Collectors.counting()));
+        logger.info("Raised {} pending restocks for {} suppliers: {}", saved.size(), perSupplier.size(), perSupplier);
+        return saved;
+    }
+}
@@ -0,0 +1,202 @@
+package com.prabath_motors.backend.service.stockService.ReportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportResponse;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryResponse;
+import com.prabath_motors.backend.dto.StocksDto.ReportCacheStats;
+import com.prabath_motors.backend.dto.StocksDto.SalesSummaryResponse;
+import com.prabath_motors.backend.dto.StocksDto.SalesTrendResponse;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseReportResponse;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serves repeated stock report requests from memory. Entries expire after a fixed time and are dropped as soon as
+ * a committed write touches the items or dates a report was built from. Reports are kept as JSON and every caller
+ * gets its own copy, so a caller changing its report cannot change what the next one is served.
+ */
+@Service
+@Primary
+public class CachingStockReportService implements StockReportService {
+
+    private enum ReportType {
+        SALES_SUMMARY,
+        SALES_TREND,
+        SUPPLIER_PURCHASE,
+        INVENTORY,
+        ITEM_PURCHASE_HISTORY
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ReportKey {
+        private final ReportType type;
+        private final Integer itemId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<Object> options;
+    }
+
+    private final StockReportServiceImpl delegate;
+    private final ObjectMapper objectMapper;
+    private final Cache<ReportKey, byte[]> cache;
+    private final long maxEntries;
+    private final long ttlMinutes;
+
+    // Bumped on every invalidation so a report computed concurrently with a write is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public CachingStockReportService(
+            StockReportServiceImpl delegate,
+            ObjectMapper objectMapper,
+            @Value("${prabath.report.cache.maxEntries:500}") long maxEntries,
+            @Value("${prabath.report.cache.ttlMinutes:30}") long ttlMinutes) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMinutes = ttlMinutes;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public SalesSummaryResponse generateSalesSummaryReport(LocalDate startDate, LocalDate endDate) {
+        ReportKey key = new ReportKey(ReportType.SALES_SUMMARY, null, startDate, endDate, List.of());
+        return cached(key, SalesSummaryResponse.class, () -> delegate.generateSalesSummaryReport(startDate, endDate));
+    }
+
+    @Override
+    public SalesTrendResponse generateSalesTrendReport(LocalDate startDate, LocalDate endDate, String granularity) {
+        ReportKey key = new ReportKey(ReportType.SALES_TREND, null, startDate, endDate, options(granularity));
+        return cached(key, SalesTrendResponse.class, () -> delegate.generateSalesTrendReport(startDate, endDate, granularity));
+    }
+
+    @Override
+    public SupplierPurchaseReportResponse generateSupplierPurchaseReport(LocalDate startDate, LocalDate endDate) {
+        ReportKey key = new ReportKey(ReportType.SUPPLIER_PURCHASE, null, startDate, endDate, List.of());
+        return cached(key, SupplierPurchaseReportResponse.class, () -> delegate.generateSupplierPurchaseReport(startDate, endDate));
+    }
+
+    @Override
+    public InventoryReportResponse generateInventoryReport(boolean showLowStockOnly, String sortBy, Integer page, Integer size) {
+        ReportKey key = new ReportKey(ReportType.INVENTORY, null, null, null,
+                options(showLowStockOnly, sortBy, page, size));
+        return cached(key, InventoryReportResponse.class,
+                () -> delegate.generateInventoryReport(showLowStockOnly, sortBy, page, size));
+    }
+
+    @Override
+    public void writeInventoryReport(boolean showLowStockOnly, String sortBy, OutputStream outputStream) throws IOException {
+        // The streamed variant exists for catalogs too large to hold in memory, so it is never cached
+        delegate.writeInventoryReport(showLowStockOnly, sortBy, outputStream);
+    }
+
+    @Override
+    public ItemPurchaseHistoryResponse generateItemPurchaseHistoryReport(Integer itemId, LocalDate startDate, LocalDate endDate,
+                                                                         String cursor, Integer limit) {
+        ReportKey key = new ReportKey(ReportType.ITEM_PURCHASE_HISTORY, itemId, startDate, endDate, options(cursor, limit));
+        return cached(key, ItemPurchaseHistoryResponse.class,
+                () -> delegate.generateItemPurchaseHistoryReport(itemId, startDate, endDate, cursor, limit));
+    }
+
+    public ReportCacheStats getCacheStats() {
+        CacheStats stats = cache.stats();
+        return new ReportCacheStats(cache.estimatedSize(), maxEntries, ttlMinutes, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount(), invalidations.get());
+    }
+
+    // Runs after the writing transaction commits, or straight away for writes made outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockDataChanged(StockDataChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> isAffected(key, event));
+    }
+
+    // The report just built goes to its caller as is; the cache keeps a serialized copy and hands out fresh copies
+    private <T> T cached(ReportKey key, Class<T> type, Supplier<T> loader) {
+        try {
+            byte[] hit = cache.getIfPresent(key);
+            if (hit != null) {
+                return objectMapper.readValue(hit, type);
+            }
+            long generation = invalidations.get();
+            T report = loader.get();
+            if (report != null && invalidations.get() == generation) {
+                cache.put(key, objectMapper.writeValueAsBytes(report));
+            }
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy the cached " + key.getType() + " report", e);
+        }
+    }
+
+    // Which reports read the data behind each kind of write
+    private boolean isAffected(ReportKey key, StockDataChangedEvent event) {
+        return switch (key.getType()) {
+            // Sold quantities are dated; purchase prices come from all-time cost summaries
+            case SALES_SUMMARY -> switch (event.getSource()) {
+                case STOCK_OUT -> inRange(key, event.getDate());
+                case STOCK_IN, ITEM -> true;
+                default -> false;
+            };
+            case SALES_TREND -> event.getSource() == StockDataChangedEvent.Source.STOCK_OUT
+                    && inRange(key, event.getDate());
+            case SUPPLIER_PURCHASE -> switch (event.getSource()) {
+                case STOCK_IN -> inRange(key, event.getDate());
+                case SUPPLIER -> true;
+                default -> false;
+            };
+            case INVENTORY -> switch (event.getSource()) {
+                case STOCK_IN, ITEM, SUPPLIER, ITEM_CTGRY -> true;
+                default -> false;
+            };
+            case ITEM_PURCHASE_HISTORY -> switch (event.getSource()) {
+                case STOCK_IN -> sameItem(key, event.getItemId()) && inRange(key, event.getDate());
+                case ITEM -> sameItem(key, event.getItemId());
+                case SUPPLIER, ITEM_CTGRY -> true;
+                default -> false;
+            };
+        };
+    }
+
+    private static boolean inRange(ReportKey key, LocalDate date) {
+        if (date == null || key.getStartDate() == null || key.getEndDate() == null) {
+            return true;
+        }
+        return !date.isBefore(key.getStartDate()) && !date.isAfter(key.getEndDate());
+    }
+
+    private static boolean sameItem(ReportKey key, Integer itemId) {
+        return itemId == null || key.getItemId() == null || itemId.equals(key.getItemId());
+    }
+
+    // Arrays.asList rather than List.of because report options may be null
+    private static List<Object> options(Object... values) {
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,15 @@
+package com.prabath_motors.backend.service.stockService.ReportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface StockReportExportService {
+    void writeSalesSummaryCsv(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException;
+    void writeInventoryCsv(boolean showLowStockOnly, String sortBy, OutputStream outputStream) throws IOException;
+    void writeSupplierPurchaseCsv(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException;
+    // Checked before the response starts, since a streamed export can no longer change its status code
+    void requireItem(Integer itemId);
+    void writeItemPurchaseHistoryCsv(Integer itemId, LocalDate startDate, LocalDate endDate,
+                                     OutputStream outputStream) throws IOException;
+}
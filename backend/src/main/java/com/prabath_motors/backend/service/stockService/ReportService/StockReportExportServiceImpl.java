@@ -0,0 +1,139 @@
+package com.prabath_motors.backend.service.stockService.ReportService;
+
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportRow;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryRow;
+import com.prabath_motors.backend.dto.StocksDto.SalesItemAggregate;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseRow;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.DailySalesRollupRepository;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Each export reads one forward-only cursor and writes every row as soon as it arrives, so memory use does not grow with the range
+@Service
+public class StockReportExportServiceImpl implements StockReportExportService {
+
+    // Rows written between flushes, so the client starts receiving data straight away
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final Stock_InRepository stockInRepository;
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public StockReportExportServiceImpl(
+            DailySalesRollupRepository dailySalesRollupRepository,
+            Stock_InRepository stockInRepository,
+            ItemRepository itemRepository) {
+        this.dailySalesRollupRepository = dailySalesRollupRepository;
+        this.stockInRepository = stockInRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeSalesSummaryCsv(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("itemID", "itemName", "soldQty", "purchasePrice", "soldPrice", "revenue", "expense");
+
+        try (Stream<SalesItemAggregate> rows = dailySalesRollupRepository.streamSalesByItem(startDate, endDate)) {
+            int written = 0;
+            Iterator<SalesItemAggregate> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SalesItemAggregate row = iterator.next();
+                // Same figures as the sales summary report
+                long soldQty = row.getSoldQty();
+                double soldPrice = row.getSellPrice();
+                double purchasePrice = row.getAvgPurchasePrice() == null ? 0 : row.getAvgPurchasePrice();
+                csv.writeRow(row.getItemID(), row.getItemName(), soldQty, purchasePrice, soldPrice,
+                        soldQty * soldPrice, soldQty * purchasePrice);
+                flushPeriodically(csv, ++written);
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeInventoryCsv(boolean showLowStockOnly, String sortBy, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("itemID", "itemName", "barcode", "category", "supplier", "qtyAvailable", "reorderLevel",
+                "stockLevel", "sellPrice", "avgPurchasePrice", "inventoryValue", "rackNo", "lastUpdated");
+
+        try (Stream<InventoryReportRow> rows = itemRepository.streamInventoryRows(
+                showLowStockOnly, StockReportServiceImpl.normalizeInventorySortKey(sortBy))) {
+            int written = 0;
+            Iterator<InventoryReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                InventoryReportRow row = iterator.next();
+                csv.writeRow(row.getItemID(), row.getItemName(), row.getBarcode(), row.getCategory(), row.getSupplier(),
+                        row.getQtyAvailable(), row.getReorderLevel(), row.getStockLevel(), row.getSellPrice(),
+                        row.getAvgPurchasePrice(), row.getInventoryValue(), row.getRackNo(), row.getLastUpdated());
+                flushPeriodically(csv, ++written);
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeSupplierPurchaseCsv(LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("supplierID", "supplierName", "purchaseCount", "totalQuantity", "totalSpend", "distinctItems",
+                "avgUnitPrice");
+
+        try (Stream<SupplierPurchaseRow> rows = stockInRepository.streamPurchasesBySupplier(startDate, endDate)) {
+            int written = 0;
+            Iterator<SupplierPurchaseRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SupplierPurchaseRow row = iterator.next();
+                csv.writeRow(row.getSupplierID(), row.getSupplierName(), row.getPurchaseCount(), row.getTotalQuantity(),
+                        row.getTotalSpend(), row.getDistinctItems(), row.getAvgUnitPrice());
+                flushPeriodically(csv, ++written);
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    public void requireItem(Integer itemId) {
+        if (itemId == null || !itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item not found with ID: " + itemId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeItemPurchaseHistoryCsv(Integer itemId, LocalDate startDate, LocalDate endDate,
+                                            OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("stockInID", "dateAdded", "qtyAdded", "unitPrice", "sellPrice", "supplierName");
+
+        try (Stream<ItemPurchaseHistoryRow> rows = stockInRepository.streamPurchaseHistory(itemId, startDate, endDate)) {
+            int written = 0;
+            Iterator<ItemPurchaseHistoryRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ItemPurchaseHistoryRow row = iterator.next();
+                csv.writeRow(row.getStockInID(), row.getDateAdded(), row.getQtyAdded(), row.getUnitPrice(),
+                        row.getSellPrice(), row.getSupplierName());
+                flushPeriodically(csv, ++written);
+            }
+        }
+        csv.flush();
+    }
+
+    private void flushPeriodically(CsvWriter csv, int written) throws IOException {
+        if (written % FLUSH_INTERVAL == 0) {
+            csv.flush();
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.prabath_motors.backend.service.stockService.ReportService;
 
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportResponse;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryResponse;
 import com.prabath_motors.backend.dto.StocksDto.SalesSummaryResponse;
+import com.prabath_motors.backend.dto.StocksDto.SalesTrendResponse;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseReportResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface StockReportService {
     SalesSummaryResponse generateSalesSummaryReport(LocalDate startDate, LocalDate endDate);
-    Object generateSupplierPurchaseReport(LocalDate startDate, LocalDate endDate);
-    Object generateInventoryReport(boolean showLowStockOnly);
-    Object generateInventoryReport(boolean showLowStockOnly, String sortBy);
-    Object generateItemPurchaseHistoryReport(Integer itemId, LocalDate startDate, LocalDate endDate);
+    SalesTrendResponse generateSalesTrendReport(LocalDate startDate, LocalDate endDate, String granularity);
+    SupplierPurchaseReportResponse generateSupplierPurchaseReport(LocalDate startDate, LocalDate endDate);
+    InventoryReportResponse generateInventoryReport(boolean showLowStockOnly, String sortBy, Integer page, Integer size);
+    void writeInventoryReport(boolean showLowStockOnly, String sortBy, OutputStream outputStream) throws IOException;
+    ItemPurchaseHistoryResponse generateItemPurchaseHistoryReport(Integer itemId, LocalDate startDate, LocalDate endDate,
+                                                                  String cursor, Integer limit);
 }
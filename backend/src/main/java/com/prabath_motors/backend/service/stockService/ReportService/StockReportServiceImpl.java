@@ -1,90 +1,103 @@
 package com.prabath_motors.backend.service.stockService.ReportService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prabath_motors.backend.dao.Stock.Item;
-import com.prabath_motors.backend.dao.Stock.Stock_In;
-import com.prabath_motors.backend.dao.Stock.Stock_Out;
-import com.prabath_motors.backend.dao.Stock.Supplier;
 import com.prabath_motors.backend.dao.Stock.Item_Ctgry;
+import com.prabath_motors.backend.dto.StocksDto.DailySalesTotal;
+import com.prabath_motors.backend.dto.StocksDto.InventoryLevelTotals;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportResponse;
+import com.prabath_motors.backend.dto.StocksDto.InventoryReportRow;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryResponse;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryRow;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseTotals;
+import com.prabath_motors.backend.dto.StocksDto.SalesItemAggregate;
 import com.prabath_motors.backend.dto.StocksDto.SalesSummaryResponse;
+import com.prabath_motors.backend.dto.StocksDto.SalesTrendResponse;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseReportResponse;
+import com.prabath_motors.backend.dto.StocksDto.SupplierPurchaseRow;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.DailySalesRollupRepository;
 import com.prabath_motors.backend.repository.ItemRepository;
 import com.prabath_motors.backend.repository.Stock_InRepository;
-import com.prabath_motors.backend.repository.Stock_OutRepository;
-import com.prabath_motors.backend.repository.SupplierRepository;
 import com.prabath_motors.backend.repository.Item_CtgryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StockReportServiceImpl implements StockReportService {
 
-    private final Stock_OutRepository stockOutRepository;
+    private final DailySalesRollupRepository dailySalesRollupRepository;
     private final Stock_InRepository stockInRepository;
     private final ItemRepository itemRepository;
-    private final SupplierRepository supplierRepository;
     private final Item_CtgryRepository item_CtgryRepository;
+    private final ObjectMapper objectMapper;
+
+    // Rows written between flushes of the streamed inventory report
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 200;
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+
+    private static final Set<String> INVENTORY_SORT_KEYS =
+            Set.of("qtyAvailable", "inventoryValue", "itemName", "category", "stockLevel");
 
     @Autowired
     public StockReportServiceImpl(
-            Stock_OutRepository stockOutRepository,
+            DailySalesRollupRepository dailySalesRollupRepository,
             Stock_InRepository stockInRepository,
             ItemRepository itemRepository,
-            SupplierRepository supplierRepository,
-            Item_CtgryRepository item_CtgryRepository) {
-        this.stockOutRepository = stockOutRepository;
+            Item_CtgryRepository item_CtgryRepository,
+            ObjectMapper objectMapper) {
+        this.dailySalesRollupRepository = dailySalesRollupRepository;
         this.stockInRepository = stockInRepository;
         this.itemRepository = itemRepository;
-        this.supplierRepository = supplierRepository;
         this.item_CtgryRepository = item_CtgryRepository;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public SalesSummaryResponse generateSalesSummaryReport(LocalDate startDate, LocalDate endDate) {
-        // Change from findByDateBetween to findByDateUsedBetween
-        List<Stock_Out> stockOuts = stockOutRepository.findByDateUsedBetween(startDate, endDate);
+        // One grouped query over the daily rollups returns a row per sold item, joined with the item and its purchase cost
+        List<SalesItemAggregate> salesRows = dailySalesRollupRepository.summarizeSalesByItem(startDate, endDate);
 
         SalesSummaryResponse response = new SalesSummaryResponse();
-        List<SalesSummaryResponse.SalesItemDetail> salesDetails = new ArrayList<>();
-
-        // Group by item ID
-        Map<Integer, List<Stock_Out>> groupedStockOuts = stockOuts.stream()
-                .collect(Collectors.groupingBy(Stock_Out::getItemID));
+        List<SalesSummaryResponse.SalesItemDetail> salesDetails = new ArrayList<>(salesRows.size());
 
         double totalRevenue = 0;
         double totalExpense = 0;
         int totalItemsSold = 0;
 
-        for (Map.Entry<Integer, List<Stock_Out>> entry : groupedStockOuts.entrySet()) {
-            Integer itemId = entry.getKey();
-            List<Stock_Out> itemStockOuts = entry.getValue();
-
-            // Get the item details
-            Optional<Item> optionalItem = itemRepository.findById(itemId);
-            if (optionalItem.isEmpty()) continue;
-            Item item = optionalItem.get();
-
-            // Get the stock in details for purchase price
-            List<Stock_In> stockIns = stockInRepository.findByItemID(itemId);
-
-            // Calculate total quantity sold for this item - using the correct getter method
-            int soldQty = itemStockOuts.stream().mapToInt(Stock_Out::getQtyUsed).sum();
+        for (SalesItemAggregate row : salesRows) {
+            int soldQty = row.getSoldQty().intValue();
 
             // Use the item's sell price from the item table
-            double soldPrice = item.getSellPrice();
+            double soldPrice = row.getSellPrice();
 
-            // Calculate purchase price (average of stock in prices)
-            double purchasePrice = stockIns.isEmpty() ? 0 :
-                    stockIns.stream().mapToDouble(Stock_In::getUnitPrice).average().orElse(0);
+            // Purchase price is the average of the item's stock in prices
+            double purchasePrice = row.getAvgPurchasePrice() == null ? 0 : row.getAvgPurchasePrice();
 
             double revenue = soldQty * soldPrice;
             double expense = soldQty * purchasePrice;
 
             // Create sales detail entry
             SalesSummaryResponse.SalesItemDetail detail = new SalesSummaryResponse.SalesItemDetail();
-            detail.setItemName(item.getItemName());
+            detail.setItemName(row.getItemName());
             detail.setSoldQty(soldQty);
             detail.setPurchasePrice(purchasePrice);
             detail.setSoldPrice(soldPrice);
@@ -108,274 +121,261 @@ public class StockReportServiceImpl implements StockReportService {
     }
 
     @Override
-    public Object generateSupplierPurchaseReport(LocalDate startDate, LocalDate endDate) {
-        // Implementation for supplier purchase report
-        Map<String, Object> response = new HashMap<>();
-        // Placeholder implementation
-        response.put("totalPurchases", 0);
-        response.put("suppliersCount", 0);
+    public SalesTrendResponse generateSalesTrendReport(LocalDate startDate, LocalDate endDate, String granularity) {
+        String period = granularity == null ? "daily" : granularity.toLowerCase();
+        if (!List.of("daily", "weekly", "monthly").contains(period)) {
+            throw new IllegalOperationException("Granularity must be one of: daily, weekly, monthly");
+        }
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalOperationException("A valid start and end date are required");
+        }
+
+        // At most one pre-aggregated row per day, regardless of how many movements happened
+        List<DailySalesTotal> dailyTotals = dailySalesRollupRepository.findDailyTotals(startDate, endDate);
+
+        // Create one bucket per period in the range so days without sales show up as zeros
+        Map<LocalDate, SalesTrendResponse.SalesTrendPoint> buckets = new LinkedHashMap<>();
+        for (LocalDate bucketStart = periodStart(startDate, period); !bucketStart.isAfter(endDate);
+             bucketStart = nextPeriodStart(bucketStart, period)) {
+            LocalDate bucketEnd = nextPeriodStart(bucketStart, period).minusDays(1);
+            buckets.put(bucketStart, new SalesTrendResponse.SalesTrendPoint(
+                    bucketStart.isBefore(startDate) ? startDate : bucketStart,
+                    bucketEnd.isAfter(endDate) ? endDate : bucketEnd,
+                    0, 0));
+        }
+
+        long totalQtySold = 0;
+        double totalRevenue = 0;
+        for (DailySalesTotal dailyTotal : dailyTotals) {
+            SalesTrendResponse.SalesTrendPoint point = buckets.get(periodStart(dailyTotal.getSalesDate(), period));
+            point.setQtySold(point.getQtySold() + dailyTotal.getQtySold());
+            point.setRevenue(point.getRevenue() + dailyTotal.getRevenue());
+            totalQtySold += dailyTotal.getQtySold();
+            totalRevenue += dailyTotal.getRevenue();
+        }
+
+        SalesTrendResponse response = new SalesTrendResponse();
+        response.setGranularity(period);
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setPoints(new ArrayList<>(buckets.values()));
+        response.setTotalQtySold(totalQtySold);
+        response.setTotalRevenue(totalRevenue);
         return response;
     }
 
-    @Override
-    public Object generateInventoryReport(boolean showLowStockOnly) {
-        Map<String, Object> response = new HashMap<>();
-
-        List<Item> allItems;
-        if (showLowStockOnly) {
-            allItems = itemRepository.findByStockLevelIn(List.of("Low", "Critical"));
-        } else {
-            allItems = itemRepository.findAll();
+    private LocalDate periodStart(LocalDate date, String period) {
+        switch (period) {
+            case "weekly": return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "monthly": return date.withDayOfMonth(1);
+            default: return date;
         }
+    }
 
-        // Calculate total inventory value
-        double totalInventoryValue = allItems.stream()
-                .mapToDouble(item -> item.getQtyAvailable() * item.getSellPrice())
-                .sum();
-        
-        // Calculate total purchase value
-        double totalPurchaseValue = 0;
-        // Add stock status counts
-        int criticalItems = 0;
-        int lowItems = 0;
-        int mediumItems = 0;
-        int highItems = 0;
+    private LocalDate nextPeriodStart(LocalDate periodStart, String period) {
+        switch (period) {
+            case "weekly": return periodStart.plusWeeks(1);
+            case "monthly": return periodStart.plusMonths(1);
+            default: return periodStart.plusDays(1);
+        }
+    }
 
-        // Create detailed item list with category and supplier info
-        List<Map<String, Object>> itemDetails = new ArrayList<>();
+    @Override
+    public SupplierPurchaseReportResponse generateSupplierPurchaseReport(LocalDate startDate, LocalDate endDate) {
+        // One grouped query returns a row per supplier with the supplier name already resolved
+        List<SupplierPurchaseRow> supplierRows = stockInRepository.summarizePurchasesBySupplier(startDate, endDate);
+
+        long totalPurchases = 0;
+        long totalQuantity = 0;
+        double totalSpend = 0;
+        for (SupplierPurchaseRow row : supplierRows) {
+            totalPurchases += row.getPurchaseCount();
+            totalQuantity += row.getTotalQuantity();
+            totalSpend += row.getTotalSpend();
+        }
 
-        for (Item item : allItems) {
-            // Count by stock level
-            switch (item.getStockLevel()) {
-                case "Critical": criticalItems++; break;
-                case "Low": lowItems++; break;
-                case "Medium": mediumItems++; break;
-                case "High": highItems++; break;
+        SupplierPurchaseReportResponse response = new SupplierPurchaseReportResponse();
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setSuppliers(supplierRows);
+        response.setSuppliersCount(supplierRows.size());
+        response.setTotalPurchases(totalPurchases);
+        response.setTotalQuantity(totalQuantity);
+        response.setTotalSpend(totalSpend);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryReportResponse generateInventoryReport(boolean showLowStockOnly, String sortBy,
+                                                           Integer page, Integer size) {
+        String sortKey = normalizeInventorySortKey(sortBy);
+
+        // Sorting and paging happen in SQL; without a page size the whole (sorted) report is returned
+        Pageable pageable = size == null ? Pageable.unpaged()
+                : PageRequest.of(page == null ? 0 : page, Math.max(size, 1));
+        Page<InventoryReportRow> rows = itemRepository.findInventoryRows(showLowStockOnly, sortKey, pageable);
+
+        InventoryReportResponse response = new InventoryReportResponse();
+        response.setItems(rows.getContent());
+
+        // Counters and values for the whole report come from one GROUP BY stockLevel query
+        long totalItems = 0;
+        double totalInventoryValue = 0;
+        double totalPurchaseValue = 0;
+        for (InventoryLevelTotals levelTotals : itemRepository.findInventoryTotalsByStockLevel(showLowStockOnly)) {
+            long itemCount = levelTotals.getItemCount();
+            if (levelTotals.getStockLevel() != null) {
+                switch (levelTotals.getStockLevel()) {
+                    case CRITICAL: response.setCriticalItems(itemCount); break;
+                    case LOW: response.setLowItems(itemCount); break;
+                    case MEDIUM: response.setMediumItems(itemCount); break;
+                    case HIGH: response.setHighItems(itemCount); break;
+                }
             }
-            
-            // Get average purchase price
-            List<Stock_In> stockIns = stockInRepository.findByItemID(item.getItemID());
-            double avgPurchasePrice = stockIns.isEmpty() ? 0 :
-                    stockIns.stream().mapToDouble(Stock_In::getUnitPrice).average().orElse(0);
-            
-            totalPurchaseValue += avgPurchasePrice * item.getQtyAvailable();
-
-            // Get category name
-            Optional<Item_Ctgry> categoryOpt = item_CtgryRepository.findById(item.getItemCtgryID());
-            String categoryName = categoryOpt.isPresent() ? categoryOpt.get().getItemCtgryName() : "Unknown";
-
-            // Get supplier name
-            Optional<Supplier> supplierOpt = supplierRepository.findById(item.getSupplierId());
-            String supplierName = supplierOpt.isPresent() ? supplierOpt.get().getSupplierName() : "Unknown";
-
-            Map<String, Object> itemDetail = new HashMap<>();
-            itemDetail.put("itemID", item.getItemID());
-            itemDetail.put("itemName", item.getItemName());
-            itemDetail.put("barcode", item.getItemBarcode());
-            itemDetail.put("category", categoryName);
-            itemDetail.put("supplier", supplierName);
-            itemDetail.put("qtyAvailable", item.getQtyAvailable());
-            itemDetail.put("reorderLevel", item.getRecorderLevel());
-            itemDetail.put("stockLevel", item.getStockLevel());
-            itemDetail.put("sellPrice", item.getSellPrice());
-            itemDetail.put("avgPurchasePrice", avgPurchasePrice);
-            itemDetail.put("inventoryValue", item.getQtyAvailable() * item.getSellPrice());
-            itemDetail.put("rackNo", item.getRackNo());
-            itemDetail.put("lastUpdated", item.getUpdatedDate());
-
-            itemDetails.add(itemDetail);
+            totalItems += itemCount;
+            totalInventoryValue += levelTotals.getInventoryValue() == null ? 0 : levelTotals.getInventoryValue();
+            totalPurchaseValue += levelTotals.getPurchaseValue() == null ? 0 : levelTotals.getPurchaseValue();
         }
 
-        response.put("items", itemDetails);
-        response.put("totalItems", allItems.size());
-        response.put("criticalItems", criticalItems);
-        response.put("lowItems", lowItems);
-        response.put("mediumItems", mediumItems);
-        response.put("highItems", highItems);
-        response.put("totalInventoryValue", totalInventoryValue);
-        response.put("totalPurchaseValue", totalPurchaseValue);
-        response.put("potentialProfit", totalInventoryValue - totalPurchaseValue);
+        response.setTotalItems(totalItems);
+        response.setTotalInventoryValue(totalInventoryValue);
+        response.setTotalPurchaseValue(totalPurchaseValue);
+        response.setPotentialProfit(totalInventoryValue - totalPurchaseValue);
+        response.setPage(rows.getPageable().isPaged() ? rows.getNumber() : 0);
+        response.setSize(rows.getPageable().isPaged() ? rows.getSize() : rows.getNumberOfElements());
+        response.setTotalPages(rows.getTotalPages());
 
         return response;
     }
 
-    @Override
-    public Object generateInventoryReport(boolean showLowStockOnly, String sortBy) {
-        Map<String, Object> response = new HashMap<>();
-
-        List<Item> allItems;
-        if (showLowStockOnly) {
-            allItems = itemRepository.findByStockLevelIn(List.of("Low", "Critical"));
-        } else {
-            allItems = itemRepository.findAll();
-        }
+    // Unknown keys fall back to the stock level order, as the report always has
+    static String normalizeInventorySortKey(String sortBy) {
+        return sortBy != null && INVENTORY_SORT_KEYS.contains(sortBy) ? sortBy : "stockLevel";
+    }
 
-        // Calculate total inventory value
-        double totalInventoryValue = allItems.stream()
-                .mapToDouble(item -> item.getQtyAvailable() * item.getSellPrice())
-                .sum();
-        
-        // Calculate total purchase value
-        double totalPurchaseValue = 0;
-        // Add stock status counts
+    @Override
+    @Transactional(readOnly = true)
+    public void writeInventoryReport(boolean showLowStockOnly, String sortBy, OutputStream outputStream)
+            throws IOException {
+        int totalItems = 0;
         int criticalItems = 0;
         int lowItems = 0;
         int mediumItems = 0;
         int highItems = 0;
+        double totalInventoryValue = 0;
+        double totalPurchaseValue = 0;
 
-        // Create detailed item list with category and supplier info
-        List<Map<String, Object>> itemDetails = new ArrayList<>();
-
-        for (Item item : allItems) {
-            // Count by stock level
-            switch (item.getStockLevel()) {
-                case "Critical": criticalItems++; break;
-                case "Low": lowItems++; break;
-                case "Medium": mediumItems++; break;
-                case "High": highItems++; break;
+        try (Stream<InventoryReportRow> rows = itemRepository.streamInventoryRows(
+                showLowStockOnly, normalizeInventorySortKey(sortBy));
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+
+            Iterator<InventoryReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                InventoryReportRow row = iterator.next();
+                generator.writeObject(row);
+
+                // Totals are accumulated on the fly so no row has to be kept after it is written
+                totalItems++;
+                if (row.getStockLevel() != null) {
+                    switch (row.getStockLevel()) {
+                        case CRITICAL: criticalItems++; break;
+                        case LOW: lowItems++; break;
+                        case MEDIUM: mediumItems++; break;
+                        case HIGH: highItems++; break;
+                    }
+                }
+                totalInventoryValue += row.getInventoryValue();
+                totalPurchaseValue += row.getAvgPurchasePrice() * row.getQtyAvailable();
+
+                if (totalItems % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
             }
-            
-            // Get average purchase price
-            List<Stock_In> stockIns = stockInRepository.findByItemID(item.getItemID());
-            double avgPurchasePrice = stockIns.isEmpty() ? 0 :
-                    stockIns.stream().mapToDouble(Stock_In::getUnitPrice).average().orElse(0);
-            
-            totalPurchaseValue += avgPurchasePrice * item.getQtyAvailable();
-
-            // Get category name
-            Optional<Item_Ctgry> categoryOpt = item_CtgryRepository.findById(item.getItemCtgryID());
-            String categoryName = categoryOpt.isPresent() ? categoryOpt.get().getItemCtgryName() : "Unknown";
-
-            // Get supplier name
-            Optional<Supplier> supplierOpt = supplierRepository.findById(item.getSupplierId());
-            String supplierName = supplierOpt.isPresent() ? supplierOpt.get().getSupplierName() : "Unknown";
-
-            Map<String, Object> itemDetail = new HashMap<>();
-            itemDetail.put("itemID", item.getItemID());
-            itemDetail.put("itemName", item.getItemName());
-            itemDetail.put("barcode", item.getItemBarcode());
-            itemDetail.put("category", categoryName);
-            itemDetail.put("supplier", supplierName);
-            itemDetail.put("qtyAvailable", item.getQtyAvailable());
-            itemDetail.put("reorderLevel", item.getRecorderLevel());
-            itemDetail.put("stockLevel", item.getStockLevel());
-            itemDetail.put("sellPrice", item.getSellPrice());
-            itemDetail.put("avgPurchasePrice", avgPurchasePrice);
-            itemDetail.put("inventoryValue", item.getQtyAvailable() * item.getSellPrice());
-            itemDetail.put("rackNo", item.getRackNo());
-            itemDetail.put("lastUpdated", item.getUpdatedDate());
-
-            itemDetails.add(itemDetail);
-        }
-
-        // Sort the items based on the sortBy parameter
-        switch (sortBy) {
-            case "qtyAvailable":
-                itemDetails.sort(Comparator.comparingInt(item -> (Integer) item.get("qtyAvailable")));
-                break;
-            case "inventoryValue":
-                itemDetails.sort((item1, item2) -> 
-                    Double.compare((Double) item2.get("inventoryValue"), (Double) item1.get("inventoryValue")));
-                break;
-            case "itemName":
-                itemDetails.sort(Comparator.comparing(item -> ((String) item.get("itemName")).toLowerCase()));
-                break;
-            case "category":
-                itemDetails.sort(Comparator.comparing(item -> ((String) item.get("category")).toLowerCase()));
-                break;
-            case "stockLevel":
-            default:
-                // Custom sort for stock level: Critical, Low, Medium, High
-                itemDetails.sort((item1, item2) -> {
-                    String level1 = (String) item1.get("stockLevel");
-                    String level2 = (String) item2.get("stockLevel");
-                    
-                    // Define priority: Critical (highest) > Low > Medium > High (lowest)
-                    Map<String, Integer> priority = Map.of(
-                        "Critical", 0,
-                        "Low", 1,
-                        "Medium", 2,
-                        "High", 3
-                    );
-                    
-                    return Integer.compare(
-                        priority.getOrDefault(level1, 4),
-                        priority.getOrDefault(level2, 4)
-                    );
-                });
+            generator.writeEndArray();
+
+            // Trailing summary, written once every item has been streamed
+            generator.writeObjectFieldStart("summary");
+            generator.writeNumberField("totalItems", totalItems);
+            generator.writeNumberField("criticalItems", criticalItems);
+            generator.writeNumberField("lowItems", lowItems);
+            generator.writeNumberField("mediumItems", mediumItems);
+            generator.writeNumberField("highItems", highItems);
+            generator.writeNumberField("totalInventoryValue", totalInventoryValue);
+            generator.writeNumberField("totalPurchaseValue", totalPurchaseValue);
+            generator.writeNumberField("potentialProfit", totalInventoryValue - totalPurchaseValue);
+            generator.writeEndObject();
+
+            generator.writeEndObject();
         }
-
-        response.put("items", itemDetails);
-        response.put("totalItems", allItems.size());
-        response.put("criticalItems", criticalItems);
-        response.put("lowItems", lowItems);
-        response.put("mediumItems", mediumItems);
-        response.put("highItems", highItems);
-        response.put("totalInventoryValue", totalInventoryValue);
-        response.put("totalPurchaseValue", totalPurchaseValue);
-        response.put("potentialProfit", totalInventoryValue - totalPurchaseValue);
-
-        return response;
     }
 
     @Override
-    public Object generateItemPurchaseHistoryReport(Integer itemId, LocalDate startDate, LocalDate endDate) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ItemPurchaseHistoryResponse generateItemPurchaseHistoryReport(Integer itemId, LocalDate startDate,
+                                                                         LocalDate endDate, String cursor,
+                                                                         Integer limit) {
         // Get item details
-        Optional<Item> itemOpt = itemRepository.findById(itemId);
-        if (itemOpt.isEmpty()) {
-            throw new RuntimeException("Item not found with ID: " + itemId);
-        }
-        
-        Item item = itemOpt.get();
-        
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found with ID: " + itemId));
+
         // Get category details
         Optional<Item_Ctgry> categoryOpt = item_CtgryRepository.findById(item.getItemCtgryID());
         String categoryName = categoryOpt.isPresent() ? categoryOpt.get().getItemCtgryName() : "Unknown";
-        
+
         // Build item details
-        Map<String, Object> itemDetails = new HashMap<>();
-        itemDetails.put("itemName", item.getItemName());
-        itemDetails.put("itemBarcode", item.getItemBarcode());
-        itemDetails.put("categoryName", categoryName);
-        itemDetails.put("qtyAvailable", item.getQtyAvailable());
-        itemDetails.put("stockLevel", item.getStockLevel());
-        
-        response.put("itemDetails", itemDetails);
-        
-        // Get purchase history for the item within date range
-        List<Stock_In> stockIns = stockInRepository.findByItemIDAndDateAddedBetween(itemId, startDate, endDate);
-        
-        // Format purchase history with supplier names
-        List<Map<String, Object>> purchaseHistory = new ArrayList<>();
-        int totalQuantity = 0;
-        double totalCost = 0;
-        
-        for (Stock_In stockIn : stockIns) {
-            Map<String, Object> entry = new HashMap<>();
-            
-            // Get supplier name
-            Optional<Supplier> supplierOpt = supplierRepository.findById(stockIn.getSupplierID());
-            String supplierName = supplierOpt.isPresent() ? supplierOpt.get().getSupplierName() : "Unknown";
-            
-            entry.put("dateAdded", stockIn.getDateAdded().toString());
-            entry.put("qtyAdded", stockIn.getQtyAdded());
-            entry.put("unitPrice", stockIn.getUnitPrice());
-            entry.put("sellPrice", stockIn.getSellPrice());
-            entry.put("supplierName", supplierName);
-            
-            purchaseHistory.add(entry);
-            
-            totalQuantity += stockIn.getQtyAdded();
-            totalCost += stockIn.getQtyAdded() * stockIn.getUnitPrice();
+        ItemPurchaseHistoryResponse.ItemDetails itemDetails = new ItemPurchaseHistoryResponse.ItemDetails();
+        itemDetails.setItemName(item.getItemName());
+        itemDetails.setItemBarcode(item.getItemBarcode());
+        itemDetails.setCategoryName(categoryName);
+        itemDetails.setQtyAvailable(item.getQtyAvailable());
+        itemDetails.setStockLevel(item.getStockLevel());
+
+        // Resume after the last row of the previous page, or from the start of the range
+        LocalDate afterDate = startDate;
+        int afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = cursor.split(":");
+            if (position.length != 2) {
+                throw new IllegalOperationException("Invalid purchase history cursor: " + cursor);
+            }
+            try {
+                afterDate = LocalDate.parse(position[0]);
+                afterId = Integer.parseInt(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalOperationException("Invalid purchase history cursor: " + cursor);
+            }
+        }
+
+        // Callers that ask for neither a cursor nor a limit predate paging and still get the whole range
+        boolean paged = limit != null || (cursor != null && !cursor.isBlank());
+        int pageSize = limit == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_HISTORY_PAGE_SIZE);
+
+        // One extra row tells us whether another page follows
+        List<ItemPurchaseHistoryRow> purchaseHistory = new ArrayList<>(stockInRepository.findPurchaseHistoryPage(
+                itemId, startDate, endDate, afterDate, afterId, paged ? Limit.of(pageSize + 1) : Limit.unlimited()));
+        String nextCursor = null;
+        if (paged && purchaseHistory.size() > pageSize) {
+            purchaseHistory.remove(pageSize);
+            ItemPurchaseHistoryRow last = purchaseHistory.get(pageSize - 1);
+            nextCursor = last.getDateAdded() + ":" + last.getStockInID();
         }
-        
-        response.put("purchaseHistory", purchaseHistory);
-        response.put("totalPurchases", purchaseHistory.size());
-        response.put("totalQuantity", totalQuantity);
-        response.put("averageUnitPrice", totalQuantity > 0 ? totalCost / totalQuantity : 0);
-        
+
+        // Totals cover the whole range, not just this page
+        ItemPurchaseTotals totals = stockInRepository.findPurchaseTotals(itemId, startDate, endDate);
+
+        ItemPurchaseHistoryResponse response = new ItemPurchaseHistoryResponse();
+        response.setItemDetails(itemDetails);
+        response.setPurchaseHistory(purchaseHistory);
+        response.setTotalPurchases(totals.getPurchaseCount());
+        response.setTotalQuantity(totals.getTotalQuantity());
+        response.setTotalCost(totals.getTotalCost());
+        response.setAverageUnitPrice(totals.getTotalQuantity() > 0 ? totals.getTotalCost() / totals.getTotalQuantity() : 0);
+        response.setNextCursor(nextCursor);
+
         return response;
     }
-}
\ No newline at end of file
+}
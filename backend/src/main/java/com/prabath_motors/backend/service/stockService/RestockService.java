@@ -1,11 +1,14 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 
 import java.util.List;
 
 public interface RestockService {
     public List<Restock> getAllRestocks();
+    public KeysetPage<Restock> getRestockPage(StockPageFilter filter);
     public Restock getRestockByID(Integer restockID);
     public Restock SaveRestock(Restock restock);
     public Restock UpdateRestockDetails(Integer id, Restock restock);
@@ -1,15 +1,24 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 import com.prabath_motors.backend.repository.RestockRepository;
+import com.prabath_motors.backend.repository.StockSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class RestockServiceImpl implements RestockService {
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("date", "restockID");
+
     private final RestockRepository restockRepository;
 
     @Autowired
@@ -19,11 +28,19 @@ public class RestockServiceImpl implements RestockService {
 
     @Override
     public List<Restock> getAllRestocks() {
-        List<Restock> stocks = restockRepository.findAll();
-        if (stocks.isEmpty()) {
-            throw new RuntimeException("No stocks found");
-        }
-        return stocks;
+        return restockRepository.findAll();
+    }
+
+    // Newest first by default; filters by date range, item, supplier and status
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Restock> getRestockPage(StockPageFilter filter) {
+        Specification<Restock> spec = Specification.where(StockSpecifications.<Restock>equalTo("itemID", filter.getItemID()))
+                .and(StockSpecifications.equalTo("supplierID", filter.getSupplierID()))
+                .and(StockSpecifications.equalTo("restockStatus", filter.getStatus()))
+                .and(StockSpecifications.between("date", filter.getStartDate(), filter.getEndDate()));
+        Sort sort = KeysetPages.sort(filter, PAGE_SORT_KEYS, "date", Sort.Direction.DESC, "restockID");
+        return KeysetPages.find(restockRepository, spec, sort, filter, Restock.class);
     }
 
     @Override
@@ -1,13 +1,19 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.dto.StocksDto.StockInImportResult;
 
 import java.util.List;
 
 public interface Stock_InService {
     public List<Stock_In> getAllStocks_In();
+    public KeysetPage<Stock_In> getStockInPage(StockPageFilter filter);
     public Stock_In getStockById(Integer stockInID);
     public Stock_In SaveStockIn(Stock_In stock);
     public Stock_In UpdateStockInDetails(Integer id, Stock_In stock);
     public void DeleteStockById(Integer id);
+    public StockInImportResult ImportStockIn(List<Stock_In> stocks);
+    public StockInImportResult ImportStockInCsv(String csv);
 }
@@ -1,27 +1,81 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import com.prabath_motors.backend.dto.StocksDto.StockInImportResult;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.Item_CtgryRepository;
+import com.prabath_motors.backend.repository.StockSpecifications;
 import com.prabath_motors.backend.repository.Stock_InRepository;
+import com.prabath_motors.backend.repository.SupplierRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class Stock_InServiceImpl implements Stock_InService {
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("dateAdded", "stockInID");
+
     private final Stock_InRepository stockInRepository;
+    private final ItemCostSummaryService itemCostSummaryService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final SupplierRepository supplierRepository;
+    private final Item_CtgryRepository item_CtgryRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Columns expected in the header line of a CSV import, in any order
+    private static final List<String> CSV_COLUMNS =
+            List.of("itemID", "ctgryID", "supplierID", "qtyAdded", "unitPrice", "sellPrice", "dateAdded");
 
     @Autowired
-    public Stock_InServiceImpl(Stock_InRepository stockInRepository) {this.stockInRepository = stockInRepository;}
+    public Stock_InServiceImpl(Stock_InRepository stockInRepository, ItemCostSummaryService itemCostSummaryService,
+                               ItemService itemService, ItemRepository itemRepository,
+                               SupplierRepository supplierRepository, Item_CtgryRepository item_CtgryRepository,
+                               Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.stockInRepository = stockInRepository;
+        this.itemCostSummaryService = itemCostSummaryService;
+        this.itemService = itemService;
+        this.itemRepository = itemRepository;
+        this.supplierRepository = supplierRepository;
+        this.item_CtgryRepository = item_CtgryRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
 
     @Override
     public List<Stock_In> getAllStocks_In(){
-        List<Stock_In> stocks = stockInRepository.findAll();
-        if (stocks.isEmpty()) {
-            throw new RuntimeException("No stocks found");
-        }
-        return stocks;
+        return stockInRepository.findAll();
+    }
+
+    // Newest first by default; filters by date range, item and supplier
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Stock_In> getStockInPage(StockPageFilter filter) {
+        Specification<Stock_In> spec = Specification.where(StockSpecifications.<Stock_In>equalTo("itemID", filter.getItemID()))
+                .and(StockSpecifications.equalTo("supplierID", filter.getSupplierID()))
+                .and(StockSpecifications.between("dateAdded", filter.getStartDate(), filter.getEndDate()));
+        Sort sort = KeysetPages.sort(filter, PAGE_SORT_KEYS, "dateAdded", Sort.Direction.DESC, "stockInID");
+        return KeysetPages.find(stockInRepository, spec, sort, filter, Stock_In.class);
     }
 
     @Override
@@ -30,17 +84,28 @@ public class Stock_InServiceImpl implements Stock_InService {
     }
 
     @Override
+    @Transactional
     public Stock_In SaveStockIn(Stock_In stock){
-        return stockInRepository.save(stock);
+        Stock_In savedStock = stockInRepository.save(stock);
+        itemCostSummaryService.recordStockIn(savedStock);
+        itemService.adjustStock(savedStock.getItemID(), savedStock.getQtyAdded());
+        publishChange(savedStock);
+        return savedStock;
     }
 
     @Override
+    @Transactional
     public Stock_In UpdateStockInDetails(Integer id, Stock_In stock){
         Optional<Stock_In> existingStock = stockInRepository.findById(id);
 
         if(existingStock.isPresent()){
             Stock_In existingStockIn = existingStock.get();
 
+            // Keep the old values so they can be taken back out of the cost summary
+            Stock_In previousStockIn = new Stock_In(existingStockIn.getStockInID(), existingStockIn.getItemID(),
+                    existingStockIn.getCtgryID(), existingStockIn.getSupplierID(), existingStockIn.getQtyAdded(),
+                    existingStockIn.getUnitPrice(), existingStockIn.getSellPrice(), existingStockIn.getDateAdded());
+
             //Update only the necessary fields
             existingStockIn.setItemID(stock.getItemID());
             existingStockIn.setCtgryID(stock.getCtgryID());
@@ -50,14 +115,195 @@ public class Stock_InServiceImpl implements Stock_InService {
             existingStockIn.setSellPrice(stock.getSellPrice());
             existingStockIn.setDateAdded(stock.getDateAdded());
 
-            return stockInRepository.save(existingStockIn);
+            Stock_In updatedStock = stockInRepository.saveAndFlush(existingStockIn);
+            itemCostSummaryService.reverseStockIn(previousStockIn);
+            itemCostSummaryService.recordStockIn(updatedStock);
+            moveQuantity(previousStockIn, updatedStock);
+            publishChange(previousStockIn);
+            publishChange(updatedStock);
+            return updatedStock;
         }else {
-            throw new RuntimeException("Stock not found with ID : " + id);
+            throw new ResourceNotFoundException("Stock not found with ID : " + id);
         }
     }
 
     @Override
+    @Transactional
     public void DeleteStockById(Integer id){
-        stockInRepository.deleteById(id);
+        Optional<Stock_In> existingStock = stockInRepository.findById(id);
+        if (existingStock.isEmpty()) {
+            return;
+        }
+        stockInRepository.delete(existingStock.get());
+        stockInRepository.flush();
+        itemCostSummaryService.reverseStockIn(existingStock.get());
+        // Fails with a 400 if the delivered quantity has already been sold
+        itemService.adjustStock(existingStock.get().getItemID(), -existingStock.get().getQtyAdded());
+        publishChange(existingStock.get());
+    }
+
+    // A whole delivery in one transaction: every line is validated first, and nothing is saved if any line fails
+    @Override
+    @Transactional
+    public StockInImportResult ImportStockIn(List<Stock_In> stocks) {
+        StockInImportResult result = new StockInImportResult();
+        if (stocks == null || stocks.isEmpty()) {
+            result.getErrors().add(new StockInImportResult.LineError(0, "No stock lines to import"));
+            return result;
+        }
+        List<Integer> lineNumbers = new ArrayList<>(stocks.size());
+        for (int i = 1; i <= stocks.size(); i++) {
+            lineNumbers.add(i);
+        }
+        return importLines(stocks, lineNumbers, result);
+    }
+
+    @Override
+    @Transactional
+    public StockInImportResult ImportStockInCsv(String csv) {
+        StockInImportResult result = new StockInImportResult();
+        List<CsvReader.Row> rows;
+        try {
+            rows = CsvReader.read(csv);
+        } catch (IllegalArgumentException e) {
+            result.getErrors().add(new StockInImportResult.LineError(0, e.getMessage()));
+            return result;
+        }
+        if (rows.isEmpty() || rows.get(0).isBlank()) {
+            result.getErrors().add(new StockInImportResult.LineError(1, "Missing header line: " + String.join(",", CSV_COLUMNS)));
+            return result;
+        }
+
+        // Map each expected column to its position in the header
+        List<String> header = rows.get(0).values();
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(header.get(i).trim())) {
+                    columnIndex.put(column, i);
+                }
+            }
+        }
+        List<String> missingColumns = CSV_COLUMNS.stream().filter(column -> !columnIndex.containsKey(column)).toList();
+        if (!missingColumns.isEmpty()) {
+            result.getErrors().add(new StockInImportResult.LineError(1, "Missing columns: " + String.join(",", missingColumns)));
+            return result;
+        }
+
+        List<Stock_In> stocks = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        for (CsvReader.Row row : rows.subList(1, rows.size())) {
+            if (row.isBlank()) {
+                continue;
+            }
+            int lineNo = row.lineNo();
+            List<String> values = row.values();
+            try {
+                Stock_In stock = new Stock_In();
+                stock.setItemID(Integer.parseInt(csvValue(values, columnIndex, "itemID")));
+                stock.setCtgryID(Integer.parseInt(csvValue(values, columnIndex, "ctgryID")));
+                stock.setSupplierID(Integer.parseInt(csvValue(values, columnIndex, "supplierID")));
+                stock.setQtyAdded(Integer.parseInt(csvValue(values, columnIndex, "qtyAdded")));
+                stock.setUnitPrice(Double.parseDouble(csvValue(values, columnIndex, "unitPrice")));
+                stock.setSellPrice(Double.parseDouble(csvValue(values, columnIndex, "sellPrice")));
+                stock.setDateAdded(LocalDate.parse(csvValue(values, columnIndex, "dateAdded")));
+                stocks.add(stock);
+                lineNumbers.add(lineNo);
+            } catch (RuntimeException e) {
+                result.getErrors().add(new StockInImportResult.LineError(lineNo, "Unreadable line: " + e.getMessage()));
+            }
+        }
+        if (stocks.isEmpty() && result.getErrors().isEmpty()) {
+            result.getErrors().add(new StockInImportResult.LineError(2, "No stock lines to import"));
+        }
+        return importLines(stocks, lineNumbers, result);
+    }
+
+    private String csvValue(List<String> values, Map<String, Integer> columnIndex, String column) {
+        int index = columnIndex.get(column);
+        if (index >= values.size() || values.get(index).isBlank()) {
+            throw new IllegalArgumentException(column + " is missing");
+        }
+        return values.get(index).trim();
+    }
+
+    // Applies an edited delivery to item stock; when the item changes, the lower id is locked first to avoid deadlocks
+    private void moveQuantity(Stock_In previous, Stock_In updated) {
+        if (previous.getItemID() == updated.getItemID()) {
+            itemService.adjustStock(updated.getItemID(), updated.getQtyAdded() - previous.getQtyAdded());
+            return;
+        }
+        Map<Integer, Integer> deltaByItem = new TreeMap<>();
+        deltaByItem.put(previous.getItemID(), -previous.getQtyAdded());
+        deltaByItem.put(updated.getItemID(), updated.getQtyAdded());
+        deltaByItem.forEach(itemService::adjustStock);
+    }
+
+    private StockInImportResult importLines(List<Stock_In> stocks, List<Integer> lineNumbers, StockInImportResult result) {
+        // Referenced items, suppliers and categories are checked with one query each, not one per line
+        Set<Integer> itemIDs = new HashSet<>();
+        Set<Integer> supplierIDs = new HashSet<>();
+        Set<Integer> ctgryIDs = new HashSet<>();
+        for (Stock_In stock : stocks) {
+            itemIDs.add(stock.getItemID());
+            supplierIDs.add(stock.getSupplierID());
+            ctgryIDs.add(stock.getCtgryID());
+        }
+        Set<Integer> knownItems = new HashSet<>();
+        itemRepository.findAllById(itemIDs).forEach(item -> knownItems.add(item.getItemID()));
+        Set<Integer> knownSuppliers = new HashSet<>();
+        supplierRepository.findAllById(supplierIDs).forEach(supplier -> knownSuppliers.add(supplier.getSupplierId()));
+        Set<Integer> knownCategories = new HashSet<>();
+        item_CtgryRepository.findAllById(ctgryIDs).forEach(category -> knownCategories.add(category.getItemCtgryId()));
+
+        for (int i = 0; i < stocks.size(); i++) {
+            Stock_In stock = stocks.get(i);
+            int lineNo = lineNumbers.get(i);
+            // Ids always come from the sequence, never from the import
+            stock.setStockInID(0);
+            for (ConstraintViolation<Stock_In> violation : validator.validate(stock)) {
+                result.getErrors().add(new StockInImportResult.LineError(lineNo,
+                        violation.getPropertyPath() + ": " + violation.getMessage()));
+            }
+            if (!knownItems.contains(stock.getItemID())) {
+                result.getErrors().add(new StockInImportResult.LineError(lineNo, "Item not found with ID: " + stock.getItemID()));
+            }
+            if (!knownSuppliers.contains(stock.getSupplierID())) {
+                result.getErrors().add(new StockInImportResult.LineError(lineNo, "Supplier not found with ID: " + stock.getSupplierID()));
+            }
+            if (!knownCategories.contains(stock.getCtgryID())) {
+                result.getErrors().add(new StockInImportResult.LineError(lineNo, "Category not found with ID: " + stock.getCtgryID()));
+            }
+        }
+        if (!result.getErrors().isEmpty()) {
+            return result;
+        }
+
+        // Sequence ids let Hibernate send these as JDBC batches
+        List<Stock_In> savedStocks = stockInRepository.saveAll(stocks);
+        stockInRepository.flush();
+
+        // Cost summaries and quantities are applied once per distinct item, in item order to avoid deadlocks
+        itemCostSummaryService.recordStockIns(savedStocks);
+        Map<Integer, Integer> qtyByItem = new TreeMap<>();
+        for (Stock_In stock : savedStocks) {
+            qtyByItem.merge(stock.getItemID(), stock.getQtyAdded(), Integer::sum);
+            result.getStockInIDs().add(stock.getStockInID());
+        }
+        qtyByItem.forEach(itemService::adjustStock);
+
+        savedStocks.stream()
+                .map(stock -> new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_IN, stock.getItemID(), stock.getDateAdded()))
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+
+        result.setImportedCount(savedStocks.size());
+        result.setItemsUpdated(qtyByItem.size());
+        return result;
+    }
+
+    private void publishChange(Stock_In stock) {
+        eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_IN,
+                stock.getItemID(), stock.getDateAdded()));
     }
-}
\ No newline at end of file
+}
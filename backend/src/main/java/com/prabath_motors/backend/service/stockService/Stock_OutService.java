@@ -1,13 +1,17 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 
 import java.util.List;
 
 public interface Stock_OutService {
     public List<Stock_Out> getAllStocks_Out();
+    public KeysetPage<Stock_Out> getStockOutPage(StockPageFilter filter);
     public Stock_Out getStockById(Integer stockOutID);
     public Stock_Out SaveStockOut(Stock_Out stock);
     public Stock_Out UpdateStockOutDetails(Integer id, Stock_Out stock);
     public void DeleteStockById(Integer id);
+    public List<Stock_Out> SaveStockOuts(List<Stock_Out> stocks);
 }
\ No newline at end of file
@@ -1,57 +1,179 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Stock_Out;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import com.prabath_motors.backend.repository.StockSpecifications;
 import com.prabath_motors.backend.repository.Stock_OutRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class Stock_OutServiceImpl implements Stock_OutService {
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("dateUsed", "stockOutID");
+
     private final Stock_OutRepository stockOutRepository;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final ItemService itemService;
+    private final ItemConsumptionForecastService forecastService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public Stock_OutServiceImpl(Stock_OutRepository stockOutRepository) {this.stockOutRepository = stockOutRepository;}
+    public Stock_OutServiceImpl(Stock_OutRepository stockOutRepository, DailySalesRollupService dailySalesRollupService,
+                                ItemService itemService, ItemConsumptionForecastService forecastService,
+                                ApplicationEventPublisher eventPublisher) {
+        this.stockOutRepository = stockOutRepository;
+        this.dailySalesRollupService = dailySalesRollupService;
+        this.itemService = itemService;
+        this.forecastService = forecastService;
+        this.eventPublisher = eventPublisher;
+    }
 
     @Override
     public List<Stock_Out> getAllStocks_Out() {
-        List<Stock_Out> stockOuts = stockOutRepository.findAll();
-        if (stockOuts.isEmpty()) {
-            throw new RuntimeException("No stocks found");
-        }
-        return stockOuts;
+        return stockOutRepository.findAll();
+    }
+
+    // Newest first by default; filters by date range and item
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Stock_Out> getStockOutPage(StockPageFilter filter) {
+        Specification<Stock_Out> spec = Specification.where(StockSpecifications.<Stock_Out>equalTo("itemID", filter.getItemID()))
+                .and(StockSpecifications.between("dateUsed", filter.getStartDate(), filter.getEndDate()));
+        Sort sort = KeysetPages.sort(filter, PAGE_SORT_KEYS, "dateUsed", Sort.Direction.DESC, "stockOutID");
+        return KeysetPages.find(stockOutRepository, spec, sort, filter, Stock_Out.class);
     }
 
     @Override
     public Stock_Out getStockById(Integer stockOutID) { return stockOutRepository.getReferenceById(stockOutID);}
 
     @Override
-    public Stock_Out SaveStockOut(Stock_Out stock) { return stockOutRepository.save(stock);}
+    @Transactional
+    public Stock_Out SaveStockOut(Stock_Out stock) {
+        Stock_Out savedStock = stockOutRepository.save(stock);
+        dailySalesRollupService.recordStockOut(savedStock);
+        // Last, so the item row is locked only briefly; insufficient stock rolls the whole movement back
+        itemService.adjustStock(savedStock.getItemID(), -savedStock.getQtyUsed());
+        forecastService.recordUsage(savedStock.getItemID(), savedStock.getDateUsed(), savedStock.getQtyUsed());
+        publishChange(savedStock);
+        return savedStock;
+    }
 
     @Override
+    @Transactional
     public Stock_Out UpdateStockOutDetails(Integer id, Stock_Out stock) {
         Optional<Stock_Out> stockDetails = stockOutRepository.findById(id);
 
         if (stockDetails.isPresent()) {
             Stock_Out existingStockOut = stockDetails.get();
 
+            // Keep the old values so they can be taken back out of the daily rollup
+            Stock_Out previousStockOut = new Stock_Out(existingStockOut.getStockOutID(), existingStockOut.getItemID(),
+                    existingStockOut.getJobID(), existingStockOut.getVehicleID(), existingStockOut.getQtyUsed(),
+                    existingStockOut.getSoldPrice(), existingStockOut.getDateUsed());
+
             //Update only necessary fields
             existingStockOut.setItemID(stock.getItemID());
             existingStockOut.setJobID(stock.getJobID());
             existingStockOut.setVehicleID(stock.getVehicleID());
             existingStockOut.setQtyUsed(stock.getQtyUsed());
-            existingStockOut.setQtyUsed(stock.getQtyUsed());
             existingStockOut.setSoldPrice(stock.getSoldPrice());
             existingStockOut.setDateUsed(stock.getDateUsed());
 
-            return stockOutRepository.save(existingStockOut);
+            Stock_Out updatedStock = stockOutRepository.save(existingStockOut);
+            dailySalesRollupService.reverseStockOut(previousStockOut);
+            dailySalesRollupService.recordStockOut(updatedStock);
+            moveStock(previousStockOut, updatedStock);
+            moveUsage(previousStockOut, updatedStock);
+            publishChange(previousStockOut);
+            publishChange(updatedStock);
+            return updatedStock;
         }else {
             throw new RuntimeException("Stock not found with ID : " + id);
         }
     }
 
     @Override
-    public void DeleteStockById(Integer id) { stockOutRepository.deleteById(id);}
-}
\ No newline at end of file
+    @Transactional
+    public void DeleteStockById(Integer id) {
+        Optional<Stock_Out> existingStock = stockOutRepository.findById(id);
+        if (existingStock.isEmpty()) {
+            return;
+        }
+        stockOutRepository.delete(existingStock.get());
+        dailySalesRollupService.reverseStockOut(existingStock.get());
+        itemService.adjustStock(existingStock.get().getItemID(), existingStock.get().getQtyUsed());
+        forecastService.recordUsage(existingStock.get().getItemID(), existingStock.get().getDateUsed(),
+                -existingStock.get().getQtyUsed());
+        publishChange(existingStock.get());
+    }
+
+    @Override
+    @Transactional
+    public List<Stock_Out> SaveStockOuts(List<Stock_Out> stocks) {
+        List<Stock_Out> savedStocks = stockOutRepository.saveAll(stocks);
+        stockOutRepository.flush();
+
+        // One decrement per item, in id order so concurrent batches lock the item rows in the same order
+        Map<Integer, Integer> qtyByItem = new TreeMap<>();
+        Map<Integer, Map<LocalDate, Integer>> usageByItem = new TreeMap<>();
+        for (Stock_Out stock : savedStocks) {
+            dailySalesRollupService.recordStockOut(stock);
+            qtyByItem.merge(stock.getItemID(), stock.getQtyUsed(), Integer::sum);
+            usageByItem.computeIfAbsent(stock.getItemID(), itemID -> new TreeMap<>())
+                    .merge(stock.getDateUsed(), stock.getQtyUsed(), Integer::sum);
+        }
+        qtyByItem.forEach((itemID, qty) -> itemService.adjustStock(itemID, -qty));
+        usageByItem.forEach((itemID, usage) -> usage.forEach((date, qty) -> forecastService.recordUsage(itemID, date, qty)));
+
+        savedStocks.stream()
+                .map(stock -> new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_OUT, stock.getItemID(), stock.getDateUsed()))
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+        return savedStocks;
+    }
+
+    // Puts the old quantity back and takes the new one out, as one net change when the item is unchanged
+    private void moveStock(Stock_Out previous, Stock_Out updated) {
+        if (previous.getItemID() == updated.getItemID()) {
+            itemService.adjustStock(updated.getItemID(), previous.getQtyUsed() - updated.getQtyUsed());
+            return;
+        }
+        // Two items: touch them in id order so concurrent updates cannot deadlock on each other
+        if (previous.getItemID() < updated.getItemID()) {
+            itemService.adjustStock(previous.getItemID(), previous.getQtyUsed());
+            itemService.adjustStock(updated.getItemID(), -updated.getQtyUsed());
+        } else {
+            itemService.adjustStock(updated.getItemID(), -updated.getQtyUsed());
+            itemService.adjustStock(previous.getItemID(), previous.getQtyUsed());
+        }
+    }
+
+    // Same id ordering as moveStock, for the forecast rows
+    private void moveUsage(Stock_Out previous, Stock_Out updated) {
+        if (previous.getItemID() <= updated.getItemID()) {
+            forecastService.recordUsage(previous.getItemID(), previous.getDateUsed(), -previous.getQtyUsed());
+            forecastService.recordUsage(updated.getItemID(), updated.getDateUsed(), updated.getQtyUsed());
+        } else {
+            forecastService.recordUsage(updated.getItemID(), updated.getDateUsed(), updated.getQtyUsed());
+            forecastService.recordUsage(previous.getItemID(), previous.getDateUsed(), -previous.getQtyUsed());
+        }
+    }
+
+    private void publishChange(Stock_Out stock) {
+        eventPublisher.publishEvent(new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_OUT,
+                stock.getItemID(), stock.getDateUsed()));
+    }
+}
@@ -1,11 +1,14 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Supplier;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
 
 import java.util.List;
 
 public interface SupplierService {
     public List<Supplier> getAllSuppliers();
+    public KeysetPage<Supplier> getSupplierPage(StockPageFilter filter);
     public Supplier getSupplierById(Integer supplierID);
     public Supplier SaveSupplier(Supplier supplier);
     public Supplier UpdateSupplierDetails(Integer id, Supplier supplier);
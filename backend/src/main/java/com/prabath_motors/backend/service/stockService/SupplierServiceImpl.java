@@ -1,29 +1,46 @@
 package com.prabath_motors.backend.service.stockService;
 
 import com.prabath_motors.backend.dao.Stock.Supplier;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.dto.StocksDto.StockPageFilter;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
 import com.prabath_motors.backend.repository.SupplierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class SupplierServiceImpl implements SupplierService {
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("supplierName", "supplierId");
+
     private final SupplierRepository supplierRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SupplierServiceImpl(SupplierRepository supplierRepository) {
+    public SupplierServiceImpl(SupplierRepository supplierRepository, ApplicationEventPublisher eventPublisher) {
         this.supplierRepository = supplierRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public List<Supplier> getAllSuppliers() {
-        List<Supplier> suppliers = supplierRepository.findAll();
-        if (suppliers.isEmpty()) {
-            throw new RuntimeException("No suppliers found");
-        }
-        return suppliers;
+        return supplierRepository.findAll();
+    }
+
+    // Alphabetical by default; suppliers have none of the list filters
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Supplier> getSupplierPage(StockPageFilter filter) {
+        Specification<Supplier> spec = Specification.where(null);
+        Sort sort = KeysetPages.sort(filter, PAGE_SORT_KEYS, "supplierName", Sort.Direction.ASC, "supplierId");
+        return KeysetPages.find(supplierRepository, spec, sort, filter, Supplier.class);
     }
 
     @Override
@@ -33,7 +50,9 @@ public class SupplierServiceImpl implements SupplierService {
 
     @Override
     public Supplier SaveSupplier(Supplier supplier) {
-        return supplierRepository.save(supplier);
+        Supplier savedSupplier = supplierRepository.save(supplier);
+        eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.SUPPLIER));
+        return savedSupplier;
     }
 
     @Override
@@ -49,7 +68,9 @@ public class SupplierServiceImpl implements SupplierService {
             existingSupplierDetails.setPhoneNumber(supplier.getPhoneNumber());
 
             //save
-            return supplierRepository.save(existingSupplierDetails);
+            Supplier updatedSupplier = supplierRepository.save(existingSupplierDetails);
+            eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.SUPPLIER));
+            return updatedSupplier;
         } else {
             throw new RuntimeException("Supplier not found with ID: " + id);
         }
@@ -58,5 +79,6 @@ public class SupplierServiceImpl implements SupplierService {
     @Override
     public void DeleteSupplierById(Integer id) {
         supplierRepository.deleteById(id);
+        eventPublisher.publishEvent(StockDataChangedEvent.of(StockDataChangedEvent.Source.SUPPLIER));
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.prabath_motors.backend.service.utilityService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prabath_motors.backend.dto.UtilityDto.ReportRequestDTO;
+import com.prabath_motors.backend.event.UtilityDataChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serves repeated utility report requests from memory. Both reports read every bill, so any committed bill write
+ * drops all entries. Reports are cached as deeply unmodifiable maps, so no caller can change what the next one gets.
+ */
+@Service
+@Primary
+public class CachingUtilityReportService implements UtilityReportService {
+
+    private enum ReportType {
+        MONTHLY_ANALYSIS,
+        COST_COMPARISON
+    }
+
+    private record ReportKey(ReportType type, List<Object> options) {
+    }
+
+    private final UtilityReportServiceImpl delegate;
+    private final Cache<ReportKey, Map<String, Object>> cache;
+
+    // Bumped on every invalidation so a report computed concurrently with a write is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public CachingUtilityReportService(
+            UtilityReportServiceImpl delegate,
+            @Value("${prabath.report.cache.maxEntries:500}") long maxEntries,
+            @Value("${prabath.report.cache.ttlMinutes:30}") long ttlMinutes) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public Map<String, Object> generateMonthlyAnalysisReport(ReportRequestDTO request) {
+        return cached(new ReportKey(ReportType.MONTHLY_ANALYSIS, options(request)),
+                () -> delegate.generateMonthlyAnalysisReport(request));
+    }
+
+    @Override
+    public Map<String, Object> generateUtilityCostComparisonReport(ReportRequestDTO request) {
+        return cached(new ReportKey(ReportType.COST_COMPARISON, options(request)),
+                () -> delegate.generateUtilityCostComparisonReport(request));
+    }
+
+    // Runs after the writing transaction commits, or straight away for writes made outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUtilityDataChanged(UtilityDataChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private Map<String, Object> cached(ReportKey key, Supplier<Map<String, Object>> loader) {
+        Map<String, Object> hit = cache.getIfPresent(key);
+        if (hit != null) {
+            return hit;
+        }
+        long generation = invalidations.get();
+        Map<String, Object> report = loader.get();
+        if (report == null) {
+            return null;
+        }
+        Map<String, Object> frozen = freeze(report);
+        if (invalidations.get() == generation) {
+            cache.put(key, frozen);
+        }
+        return frozen;
+    }
+
+    // The reports are built from nested maps and lists of plain values; copies every level into an unmodifiable one
+    @SuppressWarnings("unchecked")
+    private static <T> T freeze(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, freeze(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(freeze(element)));
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    // Arrays.asList rather than List.of because report options may be null
+    private static List<Object> options(ReportRequestDTO request) {
+        return Arrays.asList(request.getStartDate(), request.getEndDate(), request.getUtilityType(),
+                request.isIncludeChart(), request.getChartType());
+    }
+}
@@ -2,7 +2,9 @@ package com.prabath_motors.backend.service.utilityService;
 
 import com.prabath_motors.backend.dao.MonthlyUtilityBill;
 import com.prabath_motors.backend.repository.MonthlyUtilityBillRepository;
+import com.prabath_motors.backend.event.UtilityDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,10 +12,12 @@ import java.util.List;
 @Service
 public class MonthlyUtilityBillServiceImpl implements MonthlyUtilityBillService {
     private final MonthlyUtilityBillRepository monthlyUtilityBillRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public MonthlyUtilityBillServiceImpl(MonthlyUtilityBillRepository monthlyUtilityBillRepository) {
+    public MonthlyUtilityBillServiceImpl(MonthlyUtilityBillRepository monthlyUtilityBillRepository, ApplicationEventPublisher eventPublisher) {
         this.monthlyUtilityBillRepository = monthlyUtilityBillRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -31,7 +35,9 @@ public class MonthlyUtilityBillServiceImpl implements MonthlyUtilityBillService
     @Override
     public MonthlyUtilityBill SaveMUBill(MonthlyUtilityBill mutilityBill) {
         // Ensure null checks or validation can be added here if needed
-        return monthlyUtilityBillRepository.save(mutilityBill);
+        MonthlyUtilityBill saved = monthlyUtilityBillRepository.save(mutilityBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.MONTHLY_UTILITY_BILL));
+        return saved;
     }
 
     @Override
@@ -40,7 +46,9 @@ public class MonthlyUtilityBillServiceImpl implements MonthlyUtilityBillService
         if (!monthlyUtilityBillRepository.existsById(mutilityBill.getId())) {
             throw new RuntimeException("Cannot update. Monthly Utility Bill not found with id: " + mutilityBill.getId());
         }
-        return monthlyUtilityBillRepository.save(mutilityBill);
+        MonthlyUtilityBill saved = monthlyUtilityBillRepository.save(mutilityBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.MONTHLY_UTILITY_BILL));
+        return saved;
     }
 
     @Override
@@ -51,6 +59,7 @@ public class MonthlyUtilityBillServiceImpl implements MonthlyUtilityBillService
 
         // Perform the deletion
         monthlyUtilityBillRepository.delete(existingMUBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.MONTHLY_UTILITY_BILL));
 
         // Return a message confirming the deletion
         return "Monthly Utility Bill with ID " + existingMUBill.getId() + " and Invoice_No '" + existingMUBill.getInvoiceNo() + "' has been deleted successfully.";
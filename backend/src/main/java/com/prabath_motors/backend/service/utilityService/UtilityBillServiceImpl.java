@@ -2,7 +2,9 @@ package com.prabath_motors.backend.service.utilityService;
 
 import com.prabath_motors.backend.dao.UtilityBill;
 import com.prabath_motors.backend.repository.UtilityBillRepository;
+import com.prabath_motors.backend.event.UtilityDataChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,10 +12,12 @@ import java.util.List;
 @Service
 public class UtilityBillServiceImpl implements UtilityBillService {
     private final UtilityBillRepository utilityBillRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UtilityBillServiceImpl(UtilityBillRepository utilityBillRepository) {
+    public UtilityBillServiceImpl(UtilityBillRepository utilityBillRepository, ApplicationEventPublisher eventPublisher) {
         this.utilityBillRepository = utilityBillRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -32,7 +36,9 @@ public class UtilityBillServiceImpl implements UtilityBillService {
 
     @Override
     public UtilityBill SaveUtilityBill(UtilityBill utilityBill) {
-        return utilityBillRepository.save(utilityBill);
+        UtilityBill saved = utilityBillRepository.save(utilityBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.UTILITY_BILL));
+        return saved;
     }
 
     @Override
@@ -49,7 +55,9 @@ public class UtilityBillServiceImpl implements UtilityBillService {
         existingUtilityBill.setUnit_Price(utilityBill.getUnit_Price());
 
         // Save and return the updated entity
-        return utilityBillRepository.save(existingUtilityBill);
+        UtilityBill saved = utilityBillRepository.save(existingUtilityBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.UTILITY_BILL));
+        return saved;
     }
 
     @Override
@@ -60,6 +68,7 @@ public class UtilityBillServiceImpl implements UtilityBillService {
 
         // Perform the deletion
         utilityBillRepository.delete(existingUtilityBill);
+        eventPublisher.publishEvent(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.UTILITY_BILL));
 
         // Return a message with deleted entity details
         return "UtilityBill with ID " + existingUtilityBill.getId() + " and address '" + existingUtilityBill.getAddress() + "' has been deleted successfully.";
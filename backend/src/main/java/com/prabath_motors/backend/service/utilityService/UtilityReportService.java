@@ -0,0 +1,10 @@
+package com.prabath_motors.backend.service.utilityService;
+
+import com.prabath_motors.backend.dto.UtilityDto.ReportRequestDTO;
+
+import java.util.Map;
+
+public interface UtilityReportService {
+    Map<String, Object> generateMonthlyAnalysisReport(ReportRequestDTO request);
+    Map<String, Object> generateUtilityCostComparisonReport(ReportRequestDTO request);
+}
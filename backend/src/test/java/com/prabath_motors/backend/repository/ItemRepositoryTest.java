@@ -0,0 +1,157 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the conditional stock UPDATE against the configured MySQL database. Every adjustment commits in its own
+// transaction, as it does in the service, so concurrent threads really contend for the item row.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemRepositoryTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private final List<Integer> createdItems = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void deleteCreatedItems() {
+        itemRepository.deleteAllById(createdItems);
+    }
+
+    @Test
+    void concurrentAdjustmentsAreAllApplied() throws Exception {
+        int itemID = createItem(1_000, 10);
+        int movesPerThread = 100;
+
+        List<Integer> results = runConcurrently(thread -> {
+            int delta = thread % 2 == 0 ? 3 : -1;
+            List<Integer> updated = new ArrayList<>();
+            for (int i = 0; i < movesPerThread; i++) {
+                updated.add(adjust(itemID, delta));
+            }
+            return updated;
+        });
+
+        assertThat(results).hasSize(THREADS * movesPerThread).containsOnly(1);
+        int expected = 1_000 + (THREADS / 2) * movesPerThread * 3 - (THREADS / 2) * movesPerThread;
+        Item item = itemRepository.findById(itemID).orElseThrow();
+        assertThat(item.getQtyAvailable()).isEqualTo(expected);
+        assertThat(item.getStockLevel()).isEqualTo(StockLevel.of(expected, 10));
+    }
+
+    @Test
+    void concurrentTakesStopAtZero() throws Exception {
+        int itemID = createItem(100, 10);
+
+        // Twice as many units are asked for as there are in stock
+        List<Integer> results = runConcurrently(thread -> {
+            List<Integer> updated = new ArrayList<>();
+            for (int i = 0; i < 200 / THREADS; i++) {
+                updated.add(adjust(itemID, -1));
+            }
+            return updated;
+        });
+
+        assertThat(results.stream().filter(updated -> updated == 1).count()).isEqualTo(100);
+        Item item = itemRepository.findById(itemID).orElseThrow();
+        assertThat(item.getQtyAvailable()).isZero();
+        assertThat(item.getStockLevel()).isEqualTo(StockLevel.CRITICAL);
+    }
+
+    @Test
+    void takeThatWouldGoNegativeChangesNothing() {
+        int itemID = createItem(5, 2);
+
+        assertThat(adjust(itemID, -6)).isZero();
+        assertThat(itemRepository.findById(itemID).orElseThrow().getQtyAvailable()).isEqualTo(5);
+        assertThat(adjust(itemID, -5)).isEqualTo(1);
+        assertThat(itemRepository.findById(itemID).orElseThrow().getQtyAvailable()).isZero();
+    }
+
+    @Test
+    void missingItemIsNotUpdated() {
+        assertThat(adjust(Integer.MAX_VALUE, 1)).isZero();
+    }
+
+    private int adjust(int itemID, int delta) {
+        return transaction.execute(status -> itemRepository.adjustQtyAvailable(itemID, delta));
+    }
+
+    private interface ThreadTask {
+        List<Integer> run(int thread) throws Exception;
+    }
+
+    // Starts every thread at once and collects what each adjustment returned
+    private List<Integer> runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<List<Integer>> worker = () -> {
+                    start.await();
+                    return task.run(thread);
+                };
+                futures.add(executor.submit(worker));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int createItem(int qtyAvailable, int recorderLevel) {
+        Item item = new Item();
+        item.setItemCtgryID(1);
+        item.setSupplierId(1);
+        item.setItemName("Concurrency test item");
+        item.setRecorderLevel(recorderLevel);
+        item.setQtyAvailable(qtyAvailable);
+        item.setSellPrice(100);
+        item.setRackNo(1);
+        item.setStockLevel(StockLevel.of(qtyAvailable, recorderLevel));
+        int itemID = itemRepository.save(item).getItemID();
+        createdItems.add(itemID);
+        return itemID;
+    }
+}
@@ -0,0 +1,80 @@
+package com.prabath_motors.backend.repository;
+
+import com.prabath_motors.backend.dao.Stock.Restock;
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.SupplierLeadTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the native lead time query against the configured MySQL database; every test rolls back. Supplier and
+// item ids are far above real ones so existing rows do not take part.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RestockRepositoryTest {
+
+    private static final int ITEM = 900_001;
+    private static final int SUPPLIER_A = 900_001;
+    private static final int SUPPLIER_B = 900_002;
+    private static final int SUPPLIER_C = 900_003;
+
+    @Autowired
+    private RestockRepository restockRepository;
+
+    @Autowired
+    private Stock_InRepository stockInRepository;
+
+    @Test
+    void leadTimeOnlyCountsDeliveriesFromTheSupplierThatWasOrderedFrom() {
+        LocalDate raised = LocalDate.now().minusDays(30);
+        restock(SUPPLIER_A, raised);
+        restock(SUPPLIER_B, raised);
+        // The other supplier delivers the same item first
+        delivery(SUPPLIER_B, raised.plusDays(2));
+        delivery(SUPPLIER_A, raised.plusDays(5));
+
+        Map<Integer, Optional<Double>> leadTimes = leadTimes();
+
+        assertThat(leadTimes.get(SUPPLIER_A)).contains(5.0);
+        assertThat(leadTimes.get(SUPPLIER_B)).contains(2.0);
+    }
+
+    @Test
+    void restockWithNoDeliveryIsLeftOutOfTheAverage() {
+        LocalDate raised = LocalDate.now().minusDays(30);
+        restock(SUPPLIER_A, raised);
+        delivery(SUPPLIER_A, raised.plusDays(4));
+        // Raised after the only delivery, so it is still waiting
+        restock(SUPPLIER_A, raised.plusDays(10));
+        restock(SUPPLIER_C, raised);
+
+        Map<Integer, Optional<Double>> leadTimes = leadTimes();
+
+        assertThat(leadTimes.get(SUPPLIER_A)).contains(4.0);
+        assertThat(leadTimes.get(SUPPLIER_C)).isEmpty();
+    }
+
+    private Map<Integer, Optional<Double>> leadTimes() {
+        restockRepository.flush();
+        return restockRepository.findSupplierLeadTimes().stream()
+                .filter(leadTime -> leadTime.getSupplierId() >= SUPPLIER_A)
+                .collect(Collectors.toMap(SupplierLeadTime::getSupplierId,
+                        leadTime -> Optional.ofNullable(leadTime.getLeadTimeDays())));
+    }
+
+    private void restock(int supplierID, LocalDate date) {
+        restockRepository.save(new Restock(0, ITEM, supplierID, Restock.STATUS_PENDING, 10, date));
+    }
+
+    private void delivery(int supplierID, LocalDate date) {
+        stockInRepository.save(new Stock_In(0, ITEM, 1, supplierID, 10, 100, 150, date));
+    }
+}
@@ -0,0 +1,210 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.prabath_motors.backend.dao.Appointment.Job;
+import com.prabath_motors.backend.dao.Appointment.JobStatus;
+import com.prabath_motors.backend.dao.Appointment.NamedCostItem;
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Vehicle;
+import com.prabath_motors.backend.dto.JobBulkCloseResult;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.JobRepository;
+import com.prabath_motors.backend.repository.VehicleRepository;
+import com.prabath_motors.backend.service.stockService.Stock_OutService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobServiceImplTest {
+
+    @Mock
+    private JobRepository jobRepo;
+    @Mock
+    private VehicleRepository vehicleRepo;
+    @Mock
+    private ItemRepository itemRepo;
+    @Mock
+    private Stock_OutService stockOutService;
+    @Mock
+    private JobLookupService jobLookupService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private JobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void statusesOnlyMoveForwardOneStepAtATime() {
+        assertThat(JobStatus.ONGOING.getReachedFrom()).isNull();
+        assertThat(JobStatus.DONE.getReachedFrom()).isEqualTo(JobStatus.ONGOING);
+        assertThat(JobStatus.INVOICED.getReachedFrom()).isEqualTo(JobStatus.DONE);
+        assertThat(JobStatus.fromLabel("done")).isEqualTo(JobStatus.DONE);
+        assertThat(JobStatus.fromLabel("INVOICED")).isEqualTo(JobStatus.INVOICED);
+        assertThat(JobStatus.fromLabel("Closed")).isNull();
+    }
+
+    @Test
+    void jobsCannotBeMovedBackToOngoing() {
+        assertThatThrownBy(() -> jobService.changeStatus(1L, "Ongoing"))
+                .isInstanceOf(IllegalOperationException.class);
+        verify(jobRepo, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void changeStatusIsIdempotentButRejectsSkippedSteps() {
+        when(jobRepo.updateStatus(1L, JobStatus.DONE, JobStatus.INVOICED)).thenReturn(0);
+        when(jobRepo.findStatusById(1L)).thenReturn(Optional.of(JobStatus.INVOICED));
+        when(jobRepo.updateStatus(2L, JobStatus.DONE, JobStatus.INVOICED)).thenReturn(0);
+        when(jobRepo.findStatusById(2L)).thenReturn(Optional.of(JobStatus.ONGOING));
+
+        assertThat(jobService.changeStatus(1L, "Invoiced")).isFalse();
+        assertThatThrownBy(() -> jobService.changeStatus(2L, "Invoiced"))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessageContaining("cannot be moved to Invoiced");
+    }
+
+    @Test
+    void bulkCloseClosesEachJobOnItsOwn() {
+        // Job 1 closes, job 2 was already done, job 3 cannot have its parts consumed
+        when(jobRepo.updateStatus(1L, JobStatus.ONGOING, JobStatus.DONE)).thenReturn(1);
+        when(jobRepo.updateStatus(2L, JobStatus.ONGOING, JobStatus.DONE)).thenReturn(0);
+        when(jobRepo.findStatusById(2L)).thenReturn(Optional.of(JobStatus.DONE));
+        when(jobRepo.updateStatus(3L, JobStatus.ONGOING, JobStatus.DONE)).thenReturn(1);
+        when(jobRepo.findWithSparePartsByIdIn(List.of(1L))).thenReturn(List.of(job(1L, List.of())));
+        when(jobRepo.findWithSparePartsByIdIn(List.of(3L)))
+                .thenReturn(List.of(job(3L, List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 1)))));
+        when(vehicleRepo.findFirstByVehicleRegistrationNo(anyString())).thenReturn(Optional.empty());
+        when(itemRepo.findAllById(anyCollection())).thenReturn(new ArrayList<>());
+        when(jobRepo.markSparePartsConsumed(1L)).thenReturn(1);
+
+        JobBulkCloseResult result = jobService.markJobsAsDone(List.of(3L, 1L, 2L, 1L));
+
+        assertThat(result.getClosed()).containsExactly(1L);
+        assertThat(result.getAlreadyDone()).containsExactly(2L);
+        assertThat(result.getFailed()).hasSize(1);
+        assertThat(result.getFailed().get(0).getId()).isEqualTo(3L);
+        assertThat(result.getFailed().get(0).getMessage()).contains("no vehicle registered");
+        // One transaction per distinct job; only the failed one is rolled back
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(jobRepo, never()).markSparePartsConsumed(3L);
+        verify(stockOutService, never()).SaveStockOuts(anyList());
+    }
+
+    @Test
+    void partsWhoseItemIdNamesAnotherItemAreNotTakenFromStock() {
+        // Line 1 was picked from stock; line 2 is a typed-in part saved with a made-up id that belongs to a real item
+        when(jobRepo.existsById(1L)).thenReturn(true);
+        when(jobRepo.findWithSparePartsByIdIn(List.of(1L))).thenReturn(List.of(job(1L, List.of(
+                new NamedCostItem(1, 7L, "Oil filter", 1500, 1),
+                new NamedCostItem(2, 9L, "Wiper blade", 900, 2)))));
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(4);
+        when(vehicleRepo.findFirstByVehicleRegistrationNo("CAB-1234")).thenReturn(Optional.of(vehicle));
+        when(itemRepo.findAllById(anyCollection())).thenReturn(List.of(item(7, "oil filter "), item(9, "Brake pad")));
+
+        assertThatThrownBy(() -> jobService.consumeSpareParts(1L))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessageContaining("'Wiper blade' does not match item 9 (Brake pad)")
+                .message().doesNotContain("Oil filter");
+        verify(jobRepo, never()).markSparePartsConsumed(any());
+        verify(stockOutService, never()).SaveStockOuts(anyList());
+    }
+
+    @Test
+    void updateJobWritesOnlyTheLinesThatChanged() {
+        Job existing = job(1L, new ArrayList<>(List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 1))));
+        existing.setTasks(new ArrayList<>(List.of(
+                new NamedCostItem(1, null, "Wash", 1000, 1),
+                new NamedCostItem(2, null, "Tune up", 2000, 1),
+                new NamedCostItem(3, null, "Polish", 800, 1))));
+        existing.setTotalCost(5300);
+        when(jobRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(jobRepo.findById(1L)).thenReturn(Optional.of(existing));
+
+        // Line 1 is dropped, line 2 is repriced, line 3 is sent back as it was and one line is new
+        Job edit = job(1L, List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 1)));
+        edit.setTasks(List.of(
+                new NamedCostItem(2, null, "Tune up", 2500, 1),
+                new NamedCostItem(3, null, "Polish", 800, 1),
+                new NamedCostItem(null, null, "Wheel alignment", 1200, 1)));
+        jobService.updateJob(1L, edit);
+
+        verify(jobRepo).deleteTask(1L, 1);
+        verify(jobRepo).updateTask(1L, 2, "Tune up", 2500.0, 1);
+        verify(jobRepo).insertTask(1L, 4, null, "Wheel alignment", 1200.0, 1);
+        verify(jobRepo, times(1)).updateTask(any(), anyInt(), any(), any(), any());
+        verify(jobRepo, never()).insertSparePart(any(), anyInt(), any(), any(), anyDouble(), anyInt());
+        verify(jobRepo, never()).updateSparePart(any(), anyInt(), any(), any(), any());
+        verify(jobRepo, never()).deleteSparePart(any(), anyInt());
+        verify(jobRepo).addToTotalCost(1L, 2500 + 800 + 1200 + 1500 - 5300.0);
+    }
+
+    @Test
+    void consumedSparePartsCannotBeChangedButTheTasksCan() {
+        Job existing = job(1L, new ArrayList<>(List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 1))));
+        existing.setTasks(new ArrayList<>(List.of(new NamedCostItem(1, null, "Wash", 1000, 1))));
+        existing.setSparePartsConsumed(true);
+        existing.setTotalCost(2500);
+        when(jobRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(jobRepo.findById(1L)).thenReturn(Optional.of(existing));
+
+        Job moreParts = job(1L, List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 2)));
+        moreParts.setTasks(List.of(new NamedCostItem(1, null, "Wash", 1000, 1)));
+        assertThatThrownBy(() -> jobService.updateJob(1L, moreParts))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessage("Spare parts of job 1 were already taken out of stock");
+        verify(jobRepo, never()).saveAndFlush(any());
+
+        Job newTask = job(1L, List.of(new NamedCostItem(1, 7L, "Oil filter", 1500, 1)));
+        newTask.setTasks(List.of(new NamedCostItem(1, null, "Wash", 1200, 1)));
+        jobService.updateJob(1L, newTask);
+        verify(jobRepo).updateTask(1L, 1, "Wash", 1200.0, 1);
+        verify(jobRepo, never()).updateSparePart(any(), anyInt(), any(), any(), any());
+    }
+
+    private static Item item(int itemID, String name) {
+        Item item = new Item();
+        item.setItemID(itemID);
+        item.setItemName(name);
+        item.setQtyAvailable(10);
+        return item;
+    }
+
+    private static Job job(Long id, List<NamedCostItem> spareParts) {
+        Job job = new Job();
+        job.setId(id);
+        job.setVehicleRegistrationNumber("CAB-1234");
+        job.setStatus(JobStatus.DONE);
+        job.setSpareParts(spareParts);
+        return job;
+    }
+}
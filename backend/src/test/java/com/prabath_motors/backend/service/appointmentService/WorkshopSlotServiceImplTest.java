@@ -0,0 +1,115 @@
+package com.prabath_motors.backend.service.appointmentService;
+
+import com.prabath_motors.backend.dao.Appointment.WorkshopDayOccupancy;
+import com.prabath_motors.backend.dto.WorkshopDaySlots;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.repository.AppointmentRepository;
+import com.prabath_motors.backend.repository.WorkshopDayOccupancyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkshopSlotServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+
+    // Day rows kept in memory, standing in for the locked occupancy table
+    private final Map<LocalDate, WorkshopDayOccupancy> days = new HashMap<>();
+    private final WorkshopDayOccupancyRepository occupancyRepository = mock(WorkshopDayOccupancyRepository.class);
+
+    WorkshopSlotServiceImplTest() {
+        when(occupancyRepository.findByIdForUpdate(any())).thenAnswer(invocation -> Optional.of(
+                days.computeIfAbsent(invocation.getArgument(0), date -> new WorkshopDayOccupancy((LocalDate) date, null))));
+        when(occupancyRepository.findByDateBetween(any(), any())).thenAnswer(invocation -> List.copyOf(days.values()));
+    }
+
+    // Two bays, hourly slots from 08:00 to 17:00
+    private WorkshopSlotServiceImpl service(int slotsPerAppointment) {
+        return new WorkshopSlotServiceImpl(occupancyRepository, mock(AppointmentRepository.class),
+                2, 60, slotsPerAppointment, "08:00", "17:00");
+    }
+
+    @Test
+    void alignedStartTakesItsOwnSlots() {
+        WorkshopSlotServiceImpl slots = service(2);
+
+        assertThat(slots.reserve(DAY, LocalTime.of(9, 0), null)).isEqualTo(1);
+
+        assertThat(days.get(DAY).getBay(0)).isEqualTo(0b110L);
+    }
+
+    @Test
+    void startBetweenSlotsAlsoTakesTheSlotItsEndFallsIn() {
+        WorkshopSlotServiceImpl slots = service(1);
+
+        assertThat(slots.reserve(DAY, LocalTime.of(8, 30), null)).isEqualTo(1);
+        assertThat(days.get(DAY).getBay(0)).isEqualTo(0b11L);
+        // 09:00 overlaps the 08:30 appointment, so it goes to the other bay
+        assertThat(slots.reserve(DAY, LocalTime.of(9, 0), null)).isEqualTo(2);
+        assertThat(days.get(DAY).getBay(1)).isEqualTo(0b10L);
+        assertThatThrownBy(() -> slots.reserve(DAY, LocalTime.of(9, 15), null))
+                .isInstanceOf(IllegalOperationException.class);
+    }
+
+    @Test
+    void appointmentsMustFitInsideOpeningHours() {
+        WorkshopSlotServiceImpl slots = service(1);
+
+        assertThat(slots.reserve(DAY, LocalTime.of(16, 0), null)).isEqualTo(1);
+        assertThat(days.get(DAY).getBay(0)).isEqualTo(1L << 8);
+        for (LocalTime time : List.of(LocalTime.of(7, 59), LocalTime.of(16, 30), LocalTime.of(17, 0))) {
+            assertThatThrownBy(() -> slots.reserve(DAY, time, null))
+                    .as(time.toString())
+                    .isInstanceOf(IllegalOperationException.class)
+                    .hasMessageContaining("between 08:00 and 16:00");
+        }
+    }
+
+    @Test
+    void releaseClearsExactlyTheReservedSlots() {
+        WorkshopSlotServiceImpl slots = service(1);
+        slots.reserve(DAY, LocalTime.of(8, 0), 1);
+        slots.reserve(DAY, LocalTime.of(10, 30), 1);
+
+        slots.release(DAY, LocalTime.of(10, 30), 1);
+
+        assertThat(days.get(DAY).getBay(0)).isEqualTo(0b1L);
+    }
+
+    @Test
+    void releaseIgnoresBookingsThatNeverHeldASlot() {
+        WorkshopSlotServiceImpl slots = service(1);
+        slots.reserve(DAY, LocalTime.of(8, 0), 1);
+
+        slots.release(DAY, LocalTime.of(18, 0), 1);
+        slots.release(DAY, LocalTime.of(8, 0), null);
+
+        assertThat(days.get(DAY).getBay(0)).isEqualTo(0b1L);
+    }
+
+    @Test
+    void freeSlotsCountTheBaysWithoutAnOverlappingBooking() {
+        WorkshopSlotServiceImpl slots = service(1);
+        slots.reserve(DAY, LocalTime.of(8, 30), 1);
+        slots.reserve(DAY, LocalTime.of(8, 0), 2);
+
+        WorkshopDaySlots day = slots.findFreeSlots(DAY, DAY).get(0);
+
+        assertThat(day.getSlots()).extracting(WorkshopDaySlots.FreeSlot::getTime)
+                .doesNotContain(LocalTime.of(8, 0))
+                .startsWith(LocalTime.of(9, 0), LocalTime.of(10, 0));
+        assertThat(day.getSlots().get(0).getFreeBays()).isEqualTo(1);
+        assertThat(day.getSlots().get(1).getFreeBays()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,119 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.ItemConsumptionForecast;
+import com.prabath_motors.backend.dto.StocksDto.ReorderSuggestion;
+import com.prabath_motors.backend.dto.StocksDto.SupplierLeadTime;
+import com.prabath_motors.backend.repository.ItemConsumptionForecastRepository;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.RestockRepository;
+import com.prabath_motors.backend.repository.Stock_OutRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemConsumptionForecastServiceImplTest {
+
+    private static final double DEFAULT_LEAD_TIME = 7;
+
+    private final ItemConsumptionForecastRepository forecastRepository = mock(ItemConsumptionForecastRepository.class);
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final RestockRepository restockRepository = mock(RestockRepository.class);
+    private final ItemConsumptionForecastServiceImpl forecastService = new ItemConsumptionForecastServiceImpl(
+            forecastRepository, itemRepository, restockRepository, mock(Stock_OutRepository.class),
+            0.1, 1.65, 30, DEFAULT_LEAD_TIME);
+
+    @Test
+    void everySupplierUsesItsOwnLeadTime() {
+        LocalDate today = LocalDate.now();
+        when(forecastRepository.findAll()).thenReturn(List.of(steadyForecast(1, today), steadyForecast(2, today)));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item(1, 1), item(2, 2)));
+        when(restockRepository.findSupplierLeadTimes()).thenReturn(List.of(leadTime(1, 3.0), leadTime(2, 10.0)));
+
+        Map<Integer, ReorderSuggestion> suggestions = byItem(forecastService.getReorderSuggestions(false));
+
+        assertThat(suggestions.get(1).getLeadTimeDays()).isEqualTo(3.0);
+        assertThat(suggestions.get(1).getSuggestedReorderLevel()).isEqualTo(6);
+        assertThat(suggestions.get(2).getLeadTimeDays()).isEqualTo(10.0);
+        assertThat(suggestions.get(2).getSuggestedReorderLevel()).isEqualTo(20);
+    }
+
+    @Test
+    void supplierWithNoDeliveredRestockFallsBackToTheDefaultLeadTime() {
+        LocalDate today = LocalDate.now();
+        when(forecastRepository.findAll()).thenReturn(List.of(steadyForecast(1, today), steadyForecast(2, today)));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item(1, 1), item(2, 3)));
+        // Supplier 3 has a restock on record but nothing has been delivered for it yet
+        when(restockRepository.findSupplierLeadTimes()).thenReturn(List.of(leadTime(1, 3.0), leadTime(3, null)));
+
+        Map<Integer, ReorderSuggestion> suggestions = byItem(forecastService.getReorderSuggestions(false));
+
+        assertThat(suggestions.get(1).getLeadTimeDays()).isEqualTo(3.0);
+        assertThat(suggestions.get(2).getLeadTimeDays()).isEqualTo(DEFAULT_LEAD_TIME);
+        assertThat(suggestions.get(2).getSuggestedReorderLevel()).isEqualTo(14);
+    }
+
+    @Test
+    void usageIsFoldedInOneDayAtATimeIncludingIdleDays() {
+        ItemConsumptionForecast forecast = new ItemConsumptionForecast(1, 0, 0, null, 0, 0);
+        when(forecastRepository.findByIdForUpdate(1)).thenReturn(Optional.of(forecast));
+        LocalDate start = LocalDate.of(2024, 3, 1);
+
+        forecastService.recordUsage(1, start, 10);
+        // Closes the 10 unit day and the idle day after it
+        forecastService.recordUsage(1, start.plusDays(2), 4);
+
+        assertThat(forecast.getTrackedDays()).isEqualTo(2);
+        assertThat(forecast.getAvgDailyUsage()).isCloseTo(9.0, within(1e-9));
+        assertThat(forecast.getUsageVariance()).isCloseTo(9.0, within(1e-9));
+        assertThat(forecast.getOpenDate()).isEqualTo(start.plusDays(2));
+        assertThat(forecast.getOpenDayQty()).isEqualTo(4);
+
+        // A back-dated stock-out on the idle day carries that day's weight in the average
+        forecastService.recordUsage(1, start.plusDays(1), 5);
+        assertThat(forecast.getAvgDailyUsage()).isCloseTo(9.5, within(1e-9));
+        assertThat(forecast.getTrackedDays()).isEqualTo(2);
+    }
+
+    // Two units a day with no spread, and nothing left to decay before today
+    private static ItemConsumptionForecast steadyForecast(int itemID, LocalDate today) {
+        return new ItemConsumptionForecast(itemID, 2, 0, today, 0, 30);
+    }
+
+    private static Item item(int itemID, int supplierId) {
+        Item item = new Item();
+        item.setItemID(itemID);
+        item.setItemName("Item " + itemID);
+        item.setSupplierId(supplierId);
+        return item;
+    }
+
+    private static SupplierLeadTime leadTime(int supplierId, Double days) {
+        return new SupplierLeadTime() {
+            @Override
+            public Integer getSupplierId() {
+                return supplierId;
+            }
+
+            @Override
+            public Double getLeadTimeDays() {
+                return days;
+            }
+        };
+    }
+
+    private static Map<Integer, ReorderSuggestion> byItem(List<ReorderSuggestion> suggestions) {
+        return suggestions.stream().collect(Collectors.toMap(ReorderSuggestion::getItemID, Function.identity()));
+    }
+}
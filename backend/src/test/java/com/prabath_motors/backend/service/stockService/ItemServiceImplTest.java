@@ -0,0 +1,86 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemServiceImplTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemServiceImpl itemService = new ItemServiceImpl(itemRepository, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void updateItemKeepsTheLockedQuantityInsteadOfTheClientCopy() {
+        Item stored = item(7, 5);
+        when(itemRepository.findByIdForUpdate(1)).thenReturn(Optional.of(stored));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Item edit = item(100, 2);
+        edit.setItemName("Brake pad");
+        itemService.UpdateItem(1, edit);
+
+        ArgumentCaptor<Item> saved = ArgumentCaptor.forClass(Item.class);
+        verify(itemRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getQtyAvailable()).isEqualTo(7);
+        assertThat(saved.getValue().getItemName()).isEqualTo("Brake pad");
+        // Level follows the stored quantity with the new reorder level
+        assertThat(saved.getValue().getStockLevel()).isEqualTo(StockLevel.MEDIUM);
+    }
+
+    @Test
+    void barcodeTakenByAConcurrentSaveIsRejectedLikeAKnownDuplicate() {
+        // The existence check passed, but another insert took the barcode before this one was flushed
+        when(itemRepository.existsBarcodeOnOtherItem(4711, 1)).thenReturn(false);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry '4711' for key 'item.uk_item_barcode'")));
+        Item item = item(0, 2);
+        item.setItemBarcode(4711);
+
+        assertThatThrownBy(() -> itemService.SaveItem(item))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessage("Barcode 4711 is already assigned to another item");
+    }
+
+    @Test
+    void otherConstraintViolationsAreNotReportedAsBarcodeClashes() {
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'item_name' cannot be null")));
+        Item item = item(0, 2);
+        item.setItemBarcode(4711);
+
+        assertThatThrownBy(() -> itemService.SaveItem(item)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void adjustmentBelowZeroIsRejected() {
+        when(itemRepository.adjustQtyAvailable(1, -5)).thenReturn(0);
+        when(itemRepository.existsById(1)).thenReturn(true);
+
+        assertThatThrownBy(() -> itemService.adjustStock(1, -5))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessageContaining("Insufficient stock");
+    }
+
+    private static Item item(int qtyAvailable, int recorderLevel) {
+        Item item = new Item();
+        item.setItemID(1);
+        item.setQtyAvailable(qtyAvailable);
+        item.setRecorderLevel(recorderLevel);
+        return item;
+    }
+}
@@ -0,0 +1,90 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.dto.StocksDto.KeysetPage;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPagesTest {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "dateAdded").and(Sort.by(Sort.Direction.DESC, "stockInID"));
+
+    @Test
+    void cursorOfTheLastRowRoundTripsToItsKeys() {
+        List<Stock_In> rows = List.of(stockIn(12, LocalDate.of(2024, 3, 2)), stockIn(9, LocalDate.of(2024, 2, 28)));
+        Window<Stock_In> window = Window.from(rows, i -> keys(rows.get(i)), true);
+
+        KeysetPage<Stock_In> page = KeysetPages.page(window);
+        ScrollPosition position = KeysetPages.position(page.getNextCursor(), SORT, Stock_In.class);
+
+        assertThat(page.getItems()).isEqualTo(rows);
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        // Values come back as the property types, not as the strings and numbers of the JSON
+        assertThat(((KeysetScrollPosition) position).getKeys())
+                .containsExactly(Map.entry("dateAdded", LocalDate.of(2024, 2, 28)), Map.entry("stockInID", 9));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<Stock_In> rows = List.of(stockIn(1, LocalDate.of(2024, 1, 1)));
+
+        assertThat(KeysetPages.page(Window.from(rows, i -> keys(rows.get(i)), false)).getNextCursor()).isNull();
+    }
+
+    @Test
+    void noCursorStartsAtTheFirstPage() {
+        assertThat(KeysetPages.position(null, SORT, Stock_In.class)).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    void tamperedCursorsAreRejectedAsBadRequests() {
+        for (String cursor : List.of("not a cursor", encode("[1,2]"), encode("null"),
+                encode("{\"dateAdded\":\"yesterday\",\"stockInID\":9}"),
+                encode("{\"dateAdded\":\"2024-02-28\",\"stockInID\":\"nine\"}"))) {
+            assertThatThrownBy(() -> KeysetPages.position(cursor, SORT, Stock_In.class))
+                    .as(cursor)
+                    .isInstanceOf(IllegalOperationException.class);
+        }
+    }
+
+    @Test
+    void cursorOfAnotherSortOrderIsRejected() {
+        String cursor = encode("{\"stockInID\":9}");
+
+        assertThatThrownBy(() -> KeysetPages.position(cursor, SORT, Stock_In.class))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessageContaining("different sort order");
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition keys(Stock_In stockIn) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("dateAdded", stockIn.getDateAdded());
+        keys.put("stockInID", stockIn.getStockInID());
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Stock_In stockIn(int id, LocalDate dateAdded) {
+        Stock_In stockIn = new Stock_In();
+        stockIn.setStockInID(id);
+        stockIn.setDateAdded(dateAdded);
+        return stockIn;
+    }
+}
@@ -0,0 +1,86 @@
+package com.prabath_motors.backend.service.stockService.ReportService;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryResponse;
+import com.prabath_motors.backend.dto.StocksDto.ItemPurchaseHistoryRow;
+import com.prabath_motors.backend.event.StockDataChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingStockReportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    private final StockReportServiceImpl delegate = mock(StockReportServiceImpl.class);
+    // Configured like the application's mapper: java.time support, unknown properties ignored
+    private final CachingStockReportService reports = new CachingStockReportService(delegate,
+            JsonMapper.builder().findAndAddModules().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build(),
+            100, 30);
+
+    CachingStockReportServiceTest() {
+        when(delegate.generateItemPurchaseHistoryReport(1, START, END, null, null)).thenAnswer(invocation -> history());
+    }
+
+    @Test
+    void hitsAreServedWithoutTheDelegateAndMatchTheOriginal() {
+        ItemPurchaseHistoryResponse first = reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+        ItemPurchaseHistoryResponse second = reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+
+        verify(delegate, times(1)).generateItemPurchaseHistoryReport(1, START, END, null, null);
+        assertThat(second).isEqualTo(history()).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    void changesMadeByOneCallerDoNotReachTheNext() {
+        ItemPurchaseHistoryResponse miss = reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+        miss.getPurchaseHistory().clear();
+        ItemPurchaseHistoryResponse hit = reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+        hit.getItemDetails().setQtyAvailable(-1);
+        hit.setTotalCost(0);
+
+        assertThat(reports.generateItemPurchaseHistoryReport(1, START, END, null, null)).isEqualTo(history());
+    }
+
+    @Test
+    void stockWritesForTheItemDropTheReport() {
+        reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+        reports.onStockDataChanged(new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_IN, 2, START));
+        reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+        reports.onStockDataChanged(new StockDataChangedEvent(StockDataChangedEvent.Source.STOCK_IN, 1, START));
+        reports.generateItemPurchaseHistoryReport(1, START, END, null, null);
+
+        verify(delegate, times(2)).generateItemPurchaseHistoryReport(1, START, END, null, null);
+    }
+
+    private static ItemPurchaseHistoryResponse history() {
+        ItemPurchaseHistoryResponse.ItemDetails details = new ItemPurchaseHistoryResponse.ItemDetails();
+        details.setItemName("Oil filter");
+        details.setItemBarcode(1001);
+        details.setCategoryName("Filters");
+        details.setQtyAvailable(12);
+        details.setStockLevel(StockLevel.HIGH);
+
+        ItemPurchaseHistoryResponse response = new ItemPurchaseHistoryResponse();
+        response.setItemDetails(details);
+        response.setPurchaseHistory(new ArrayList<>(List.of(
+                new ItemPurchaseHistoryRow(3, START.plusDays(2), 10, 450.0, 600.0, "Lanka Parts"),
+                new ItemPurchaseHistoryRow(8, START.plusDays(9), 5, 470.0, 620.0, null))));
+        response.setTotalPurchases(2);
+        response.setTotalQuantity(15);
+        response.setTotalCost(6850);
+        response.setAverageUnitPrice(6850 / 15.0);
+        return response;
+    }
+}
@@ -0,0 +1,108 @@
+package com.prabath_motors.backend.service.stockService;
+
+import com.prabath_motors.backend.dao.Stock.Item;
+import com.prabath_motors.backend.dao.Stock.StockLevel;
+import com.prabath_motors.backend.dao.Stock.Stock_In;
+import com.prabath_motors.backend.exception.IllegalOperationException;
+import com.prabath_motors.backend.exception.ResourceNotFoundException;
+import com.prabath_motors.backend.repository.ItemRepository;
+import com.prabath_motors.backend.repository.Item_CtgryRepository;
+import com.prabath_motors.backend.repository.Stock_InRepository;
+import com.prabath_motors.backend.repository.SupplierRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class Stock_InServiceImplTest {
+
+    // Items kept in memory, with the conditional stock UPDATE applied to them
+    private final Map<Integer, Item> items = new HashMap<>();
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final Stock_InRepository stockInRepository = mock(Stock_InRepository.class);
+    private final ItemServiceImpl itemService = new ItemServiceImpl(itemRepository, mock(ApplicationEventPublisher.class));
+    private final Stock_InServiceImpl stockInService = new Stock_InServiceImpl(stockInRepository,
+            mock(ItemCostSummaryService.class), itemService, itemRepository, mock(SupplierRepository.class),
+            mock(Item_CtgryRepository.class), mock(Validator.class), mock(ApplicationEventPublisher.class));
+
+    Stock_InServiceImplTest() {
+        when(itemRepository.saveAndFlush(any(Item.class))).thenAnswer(invocation -> {
+            Item item = invocation.getArgument(0);
+            item.setItemID(items.size() + 1);
+            items.put(item.getItemID(), item);
+            return item;
+        });
+        when(itemRepository.adjustQtyAvailable(any(), anyInt())).thenAnswer(invocation -> {
+            Item item = items.get(invocation.<Integer>getArgument(0));
+            int delta = invocation.getArgument(1);
+            if (item == null || item.getQtyAvailable() + delta < 0) {
+                return 0;
+            }
+            item.setQtyAvailable(item.getQtyAvailable() + delta);
+            item.setStockLevel(StockLevel.of(item.getQtyAvailable(), item.getRecorderLevel()));
+            return 1;
+        });
+        when(itemRepository.existsById(any())).thenAnswer(invocation -> items.containsKey(invocation.<Integer>getArgument(0)));
+        when(stockInRepository.save(any(Stock_In.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void newItemWithItsOpeningStockInHoldsTheDeliveredQuantityOnce() {
+        // What the Add New Item form sends: the item without stock, then the opening delivery
+        Item item = itemService.SaveItem(item(0));
+        stockInService.SaveStockIn(stockIn(item.getItemID(), 12));
+
+        assertThat(items.get(item.getItemID()).getQtyAvailable()).isEqualTo(12);
+        assertThat(items.get(item.getItemID()).getStockLevel()).isEqualTo(StockLevel.HIGH);
+    }
+
+    @Test
+    void newItemCannotBringItsOwnQuantity() {
+        assertThatThrownBy(() -> itemService.SaveItem(item(12)))
+                .isInstanceOf(IllegalOperationException.class)
+                .hasMessageContaining("stock-in");
+        verify(itemRepository, never()).saveAndFlush(any(Item.class));
+    }
+
+    @Test
+    void stockInForAnUnknownItemIsNotFound() {
+        assertThatThrownBy(() -> stockInService.SaveStockIn(stockIn(99, 5)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static Item item(int qtyAvailable) {
+        Item item = new Item();
+        item.setItemCtgryID(1);
+        item.setSupplierId(1);
+        item.setItemName("Spark plug");
+        item.setRecorderLevel(3);
+        item.setQtyAvailable(qtyAvailable);
+        item.setSellPrice(850);
+        item.setRackNo(4);
+        return item;
+    }
+
+    private static Stock_In stockIn(int itemID, int qtyAdded) {
+        Stock_In stockIn = new Stock_In();
+        stockIn.setItemID(itemID);
+        stockIn.setCtgryID(1);
+        stockIn.setSupplierID(1);
+        stockIn.setQtyAdded(qtyAdded);
+        stockIn.setUnitPrice(600);
+        stockIn.setSellPrice(850);
+        stockIn.setDateAdded(LocalDate.now());
+        return stockIn;
+    }
+}
@@ -0,0 +1,66 @@
+package com.prabath_motors.backend.service.utilityService;
+
+import com.prabath_motors.backend.dto.UtilityDto.ReportRequestDTO;
+import com.prabath_motors.backend.event.UtilityDataChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingUtilityReportServiceTest {
+
+    private final UtilityReportServiceImpl delegate = mock(UtilityReportServiceImpl.class);
+    private final CachingUtilityReportService reports = new CachingUtilityReportService(delegate, 100, 30);
+    private final ReportRequestDTO request = new ReportRequestDTO("2025-01-01", "2025-03-31", "all", false, null);
+
+    CachingUtilityReportServiceTest() {
+        when(delegate.generateMonthlyAnalysisReport(any())).thenAnswer(invocation -> analysis());
+    }
+
+    @Test
+    void cachedReportsCannotBeChangedByCallers() {
+        Map<String, Object> report = reports.generateMonthlyAnalysisReport(request);
+
+        assertThatThrownBy(() -> report.put("totalCost", 0f)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ((List<?>) report.get("recommendations")).clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> month = ((List<Map<String, Object>>) report.get("monthlyData")).get(0);
+        assertThatThrownBy(() -> month.put("cost", 0f)).isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(reports.generateMonthlyAnalysisReport(request)).isEqualTo(analysis());
+        verify(delegate, times(1)).generateMonthlyAnalysisReport(any());
+    }
+
+    @Test
+    void billWritesDropTheCachedReports() {
+        reports.generateMonthlyAnalysisReport(request);
+        reports.onUtilityDataChanged(new UtilityDataChangedEvent(UtilityDataChangedEvent.Source.MONTHLY_UTILITY_BILL));
+        reports.generateMonthlyAnalysisReport(request);
+
+        verify(delegate, times(2)).generateMonthlyAnalysisReport(any());
+    }
+
+    private static Map<String, Object> analysis() {
+        Map<String, Object> month = new HashMap<>();
+        month.put("month", "January");
+        month.put("year", 2025);
+        month.put("cost", 4200f);
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("totalCost", 4200f);
+        report.put("monthlyData", new ArrayList<>(List.of(month)));
+        report.put("recommendations", new ArrayList<>(List.of("Switch off the compressor overnight")));
+        return report;
+    }
+}
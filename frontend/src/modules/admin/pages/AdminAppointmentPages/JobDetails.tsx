@@ -99,12 +99,13 @@ const JobDetails: React.FC = () => {
             cost: task.cost
           }));
 
-          const sparePartItems: StockItem[] = foundJob.spareParts.map((part: NamedCostItem) => {
+          const sparePartItems: StockItem[] = foundJob.spareParts.map((part: NamedCostItem, index: number) => {
             
             const quantity = part.quantity || 1;
 
             return {
-              itemID: part.itemId || Math.floor(Math.random() * 1000) + 1, 
+              // Parts not linked to a stock item get a negative key that only identifies the row on this page
+              itemID: part.itemId || -(index + 1), 
               itemName: part.name,
               qtyAvailable: quantity, 
               unitPrice: part.cost, 
@@ -510,7 +511,7 @@ const JobDetails: React.FC = () => {
         ...currentSparePart!,
         
         
-        itemID: currentSparePart?.itemID || (Math.floor(Math.random() * -1000) - 1) 
+        itemID: currentSparePart?.itemID || Math.min(0, ...spareParts.map(p => p.itemID)) - 1
       };
 
       console.log('New spare part to be added:', newSparePart);
@@ -610,7 +611,13 @@ const JobDetails: React.FC = () => {
     setSparePartDeleteError(null);
   };
 
-  
+  // Closing the job takes linked parts out of stock, so only an id picked from the stock list, still carrying
+  // that item's name, is saved; local row keys and ids whose name was edited afterwards are dropped
+  const stockItemId = (part: StockItem): number | undefined =>
+    part.itemID > 0 && allSpareParts.some(item => item.itemID === part.itemID && item.itemName === part.itemName)
+      ? part.itemID
+      : undefined;
+
   const convertToNamedCostItems = () => {
     const taskItems: NamedCostItem[] = tasks.map(task => ({
       itemId: task.id,
@@ -620,7 +627,7 @@ const JobDetails: React.FC = () => {
     }));
 
     const sparePartItems: NamedCostItem[] = spareParts.map(part => ({
-      itemId: part.itemID,
+      itemId: stockItemId(part),
       name: part.itemName,
       cost: part.unitPrice, 
       quantity: part.qtyAvailable 
@@ -961,7 +968,7 @@ const JobDetails: React.FC = () => {
                 <tbody className="bg-white divide-y divide-gray-200">
                   {spareParts.map((part) => (
                     <tr key={part.itemID} className="hover:bg-gray-50">
-                      <td className="px-6 py-4 whitespace-nowrap">{part.itemID}</td>
+                      <td className="px-6 py-4 whitespace-nowrap">{part.itemID > 0 ? part.itemID : '-'}</td>
                       <td className="px-6 py-4 whitespace-nowrap">{part.itemName}</td>
                       <td className="px-6 py-4 whitespace-nowrap">{part.qtyAvailable}</td>
                       <td className="px-6 py-4 whitespace-nowrap">{part.unitPrice}</td>
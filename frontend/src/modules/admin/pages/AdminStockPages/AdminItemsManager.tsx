@@ -62,9 +62,17 @@ const AdminItemsManager: React.FC = () => {
         setError(null);
         try {
             const isUpdate = item.itemID !== undefined;
+            if (isUpdate && item.itemID) {
+                // The edited quantity is applied as an adjustment from the quantity the form was opened with
+                const delta = (item.qtyAvailable ?? 0) - (currentItem?.qtyAvailable ?? 0);
+                if (delta !== 0) {
+                    await itemService.adjustStock(item.itemID, delta);
+                }
+            }
+            // A new item starts empty; its opening quantity arrives with the stock-in below
             const savedItem = isUpdate && item.itemID
                 ? await itemService.updateItem(item.itemID, item)
-                : await itemService.createItem(item);
+                : await itemService.createItem({ ...item, qtyAvailable: 0 });
 
             if (!isUpdate) {
                 await itemService.createStockIn({
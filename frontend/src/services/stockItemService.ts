@@ -28,6 +28,14 @@ class ItemService {
         return response.data;
     }
 
+    // Moves the quantity by a delta; /update never changes it, so stock movements made meanwhile are not overwritten
+    async adjustStock(id: number, delta: number): Promise<StockItem> {
+        const response = await apiClient.post<StockItem>(`${this.baseUrl}/${id}/adjust-stock`, null, {
+            params: { delta }
+        });
+        return response.data;
+    }
+
     async deleteItem(id: number): Promise<void> {
         await apiClient.delete(`${this.baseUrl}/delete/${id}`);
     }